@@ -0,0 +1,40 @@
+package lab.reservation_server.auth;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * bcrypt 비용(strength)별 로그인 1회 검증 시간 측정
+ * 로그인 폭주 시 코어당 초당 처리 가능한 로그인 수 = 1000 / (측정값 ms)
+ * 실행 : ./gradlew jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordHashBenchmark {
+
+    @Param({"8", "9", "10", "11", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hashed;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hashed = encoder.encode("password1234");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("password1234", hashed);
+    }
+}
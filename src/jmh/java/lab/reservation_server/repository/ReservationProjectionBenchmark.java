@@ -0,0 +1,130 @@
+package lab.reservation_server.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import lab.reservation_server.domain.Lab;
+import lab.reservation_server.domain.Member;
+import lab.reservation_server.domain.Reservation;
+import lab.reservation_server.domain.enums.Role;
+import lab.reservation_server.dto.response.reservation.BookInfo;
+import lab.reservation_server.dto.response.reservation.ReservationInfos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 예약 내역 조회(/api/reservations/{userId}/all) 한번의 heap 할당량 비교
+ * entities : 예약 + 강의실 + 회원 entity를 조회해서 BookInfo로 복사 (이전 방식)
+ * projection : select new BookInfo(...) 로 바로 조회
+ *
+ * 실행 : ./gradlew jmh (gc profiler의 gc.alloc.rate.norm 이 요청 한번당 할당한 byte 수)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReservationProjectionBenchmark {
+
+    private static final String ENTITY_QUERY =
+        "select r from Reservation r join fetch r.lab l join fetch r.member m where r.member = :member order by r.startTime asc";
+
+    private static final String PROJECTION_QUERY =
+        "select new lab.reservation_server.dto.response.reservation.BookInfo(r.id, m.name, m.userId, m.major, " +
+            "l.roomNumber, r.seatNum, r.startTime, r.endTime, r.extensionTime, r.permission) " +
+        "from Reservation r join r.member m join r.lab l where m.id = :memberId order by r.startTime asc";
+
+    @Param({"10", "200"})
+    private int reservations;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private Long memberId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:projection-" + reservations + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.open-in-view=false")
+            .run();
+
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        memberId = transactionTemplate.execute(status -> {
+            Lab lab = new Lab("911", 40);
+            entityManager.persist(lab);
+            Member member = Member.builder()
+                .userId("20231234").password("password").name("홍길동").email("hong@deu.ac.kr")
+                .phoneNum("010-1234-5678").role(Role.USER).build();
+            entityManager.persist(member);
+
+            LocalDateTime start = LocalDateTime.now().minusDays(reservations);
+            for (int i = 0; i < reservations; i++) {
+                LocalDateTime startTime = start.plusDays(i);
+                entityManager.persist(Reservation.builder()
+                    .member(member).lab(lab).seatNum(String.valueOf(i % 40 + 1))
+                    .startTime(startTime).endTime(startTime.plusHours(2)).extensionTime(startTime.plusHours(1))
+                    .permission(true).build());
+            }
+            return member.getId();
+        });
+        transactionTemplate.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ReservationInfos entities() {
+        return transactionTemplate.execute(status -> {
+            List<Reservation> found = entityManager.createQuery(ENTITY_QUERY, Reservation.class)
+                .setParameter("member", entityManager.getReference(Member.class, memberId))
+                .getResultList();
+            ReservationInfos infos = new ReservationInfos();
+            infos.addReservationInfo(found);
+            return infos;
+        });
+    }
+
+    @Benchmark
+    public ReservationInfos projection() {
+        return transactionTemplate.execute(status ->
+            new ReservationInfos(entityManager.createQuery(PROJECTION_QUERY, BookInfo.class)
+                .setParameter("memberId", memberId)
+                .getResultList()));
+    }
+
+    @EnableAutoConfiguration
+    @EnableJpaAuditing
+    @EntityScan(basePackageClasses = Reservation.class)
+    @EnableJpaRepositories(basePackageClasses = ReservationRepository.class,
+        includeFilters = @Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ReservationRepository.class))
+    static class BenchmarkApplication {
+    }
+}
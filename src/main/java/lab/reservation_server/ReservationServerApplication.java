@@ -1,5 +1,6 @@
 package lab.reservation_server;
 
+import java.util.Map;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -11,7 +12,14 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 public class ReservationServerApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(ReservationServerApplication.class, args);
+		SpringApplication application = new SpringApplication(ReservationServerApplication.class);
+		// 설정 파일에 값이 없을 때 사용하는 기본값, actuator는 health와 metrics만 노출한다.
+		// open-in-view를 끄면 DB 커넥션은 트랜잭션 동안만 잡히고, 트랜잭션 밖의 bcrypt 계산 중에는 반납된다.
+		// 대신 트랜잭션이 끝난 뒤(controller, 응답 직렬화)에는 지연 로딩을 할 수 없다.
+		application.setDefaultProperties(Map.of(
+			"management.endpoints.web.exposure.include", "health,metrics",
+			"spring.jpa.open-in-view", "false"));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,138 @@
+package lab.reservation_server.analytics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PreDestroy;
+import lab.reservation_server.repository.ReservationHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 지난 달(끝난 달)의 예약을 달마다 분석용 파일(reservations-yyyyMM.labc)로 내보내고, 분석 조회 시 memory-map 해서 읽는다.
+ * 끝난 달의 예약은 더 바뀌지 않으므로 한번 내보낸 달은 다시 DB를 읽지 않는다. (파일 형식 버전이 바뀐 경우만 다시 내보낸다.)
+ *
+ * 파일은 서버마다 각자의 디렉터리에 만든다. 다른 서버가 만든 파일을 볼 수 없으므로 lease 없이 서버마다 없는 달만 내보낸다.
+ *
+ * 처음 시작한 서버는 지난 모든 달을 내보내야 하므로, 서버 시작 시의 내보내기는 시작을 막지 않도록 전용 스레드에서 실행한다.
+ * 보관 테이블(reservation_archive)도 함께 읽으므로 ReservationArchiveSchedule.prepareTable 이후에 실행한다.
+ */
+@Slf4j
+@Component
+public class ReservationAnalyticsStore {
+
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("'reservations-'yyyyMM'.labc'");
+    private static final int FETCH_SIZE = 1000;
+
+    private final ReservationHistoryRepository reservationHistoryRepository;
+    private final Path directory;
+
+    private final Map<YearMonth, ReservationMonthFile> files = new ConcurrentHashMap<>();
+
+    private final ExecutorService exporter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "analytics-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReservationAnalyticsStore(ReservationHistoryRepository reservationHistoryRepository,
+                                     @Value("${lab.analytics.dir:analytics}") String directory) {
+        this.reservationHistoryRepository = reservationHistoryRepository;
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * 보관 테이블을 만드는 listener(HIGHEST_PRECEDENCE)보다 늦게 호출되도록 LOWEST_PRECEDENCE로 둔다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void exportOnStartup() {
+        exporter.execute(this::exportClosedMonths);
+    }
+
+    @Scheduled(cron = "${lab.analytics.export-cron:0 0 5 * * *}")
+    public synchronized void exportClosedMonths() {
+        try {
+            YearMonth last = lastClosedMonth();
+            Optional<LocalDateTime> oldest = reservationHistoryRepository.findOldestStartTime();
+            if (oldest.isEmpty()) {
+                return;
+            }
+
+            Files.createDirectories(directory);
+            for (YearMonth month = YearMonth.from(oldest.get()); !month.isAfter(last); month = month.plusMonths(1)) {
+                Path path = pathOf(month);
+                if (!Files.exists(path) || !ReservationMonthFile.isCurrentVersion(path)) {
+                    export(month);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("예약 분석 파일 내보내기 실패", e);
+        }
+    }
+
+    /**
+     * 가장 최근의 끝난 달 (이번 달의 이전 달)
+     */
+    public YearMonth lastClosedMonth() {
+        return YearMonth.now().minusMonths(1);
+    }
+
+    /**
+     * month의 분석 파일, 아직 내보내지 않았으면 empty
+     */
+    public Optional<ReservationMonthFile> open(YearMonth month) {
+        ReservationMonthFile file = files.get(month);
+        if (file != null) {
+            return Optional.of(file);
+        }
+        Path path = pathOf(month);
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(files.computeIfAbsent(month, key -> {
+            try {
+                return ReservationMonthFile.open(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        exporter.shutdownNow();
+    }
+
+    private void export(YearMonth month) throws IOException {
+        long start = System.currentTimeMillis();
+        ReservationColumns columns = new ReservationColumns(month);
+        reservationHistoryRepository.exportMonth(month, FETCH_SIZE, columns);
+
+        Path path = pathOf(month);
+        columns.writeTo(path);
+        files.remove(month);
+        log.info("예약 분석 파일 내보내기 : {} ({}건, {} byte, {}ms)", path.getFileName(), columns.size(),
+            Files.size(path), System.currentTimeMillis() - start);
+    }
+
+    private Path pathOf(YearMonth month) {
+        return directory.resolve(month.format(FILE_NAME));
+    }
+}
@@ -0,0 +1,193 @@
+package lab.reservation_server.analytics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 달치 예약을 열(column) 단위로 모아서 분석용 파일 하나로 쓴다. 읽기는 ReservationMonthFile
+ *
+ * 파일 형식 (big endian)
+ *   header : magic "LABC"(int), version(short), 연월 yyyyMM(int), 행 수(int)
+ *            강의실 사전 : 개수(short), [호실(short 길이 + UTF-8), 수용 인원(short)]...
+ *            좌석 사전 : 개수(int), [좌석 번호(short 길이 + UTF-8)]...
+ *   column : 일(byte)[행 수], 강의실 코드(byte)[행 수], 승인 여부(byte)[행 수], 좌석 코드(short)[행 수],
+ *            시작 분(short, 0 ~ 1439)[행 수], 종료 분(short, 1 ~ 1440)[행 수], 회원 id(int)[행 수]
+ *
+ * 강의실은 사전 번호(0 ~ 255), 좌석은 사전 번호(0 ~ 65535)로 바꿔서 한 행이 13 byte다.
+ * 좌석 번호는 강의실마다 따로 붙어서 한 달에 256개를 넘을 수 있으므로 short로 저장한다. (version 2, version 1은 byte)
+ * 시간은 그날 0시부터의 분이고, 다음날로 넘어가는 예약은 종료 분을 1440(자정)으로 자른다.
+ */
+public class ReservationColumns {
+
+    static final int MAGIC = 0x4C414243; // "LABC"
+    static final short VERSION = 2;
+    static final int ROW_BYTES = 13;
+    static final int MAX_LAB_CODES = 1 << 8;
+    static final int MAX_SEAT_CODES = 1 << 16;
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final YearMonth month;
+
+    private final Map<String, Integer> labCodes = new HashMap<>();
+    private final List<String> labs = new ArrayList<>();
+    private final List<Integer> capacities = new ArrayList<>();
+    private final Map<String, Integer> seatCodes = new HashMap<>();
+    private final List<String> seats = new ArrayList<>();
+
+    private byte[] days = new byte[1024];
+    private byte[] labColumn = new byte[1024];
+    private byte[] permissions = new byte[1024];
+    private short[] seatColumn = new short[1024];
+    private short[] startMinutes = new short[1024];
+    private short[] endMinutes = new short[1024];
+    private int[] memberIds = new int[1024];
+    private int size = 0;
+
+    public ReservationColumns(YearMonth month) {
+        this.month = month;
+    }
+
+    public void add(String roomNumber, int capacity, String seatNum, LocalDateTime startTime, LocalDateTime endTime,
+                    long memberId, boolean permission) {
+        if (!YearMonth.from(startTime).equals(month)) {
+            throw new IllegalArgumentException(month + " 이외의 예약입니다. : " + startTime);
+        }
+        if (size == days.length) {
+            grow();
+        }
+
+        int startMinute = startTime.getHour() * 60 + startTime.getMinute();
+        int endMinute = endTime.toLocalDate().isAfter(startTime.toLocalDate())
+            ? MINUTES_PER_DAY
+            : endTime.getHour() * 60 + endTime.getMinute();
+
+        days[size] = (byte) startTime.getDayOfMonth();
+        labColumn[size] = (byte) labCode(roomNumber, capacity);
+        permissions[size] = (byte) (permission ? 1 : 0);
+        seatColumn[size] = (short) code(seatNum, seatCodes, seats, MAX_SEAT_CODES);
+        startMinutes[size] = (short) startMinute;
+        endMinutes[size] = (short) Math.max(startMinute, endMinute);
+        memberIds[size] = Math.toIntExact(memberId);
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 임시 파일에 다 쓴 다음 바꿔치기 하므로 쓰는 도중에 읽는 쪽이 반쯤 쓰인 파일을 보지 않는다.
+     */
+    public void writeTo(Path path) throws IOException {
+        byte[] header = header();
+        ByteBuffer buffer = ByteBuffer.allocate(header.length + size * ROW_BYTES);
+        buffer.put(header);
+        buffer.put(days, 0, size);
+        buffer.put(labColumn, 0, size);
+        buffer.put(permissions, 0, size);
+        for (int i = 0; i < size; i++) {
+            buffer.putShort(seatColumn[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            buffer.putShort(startMinutes[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            buffer.putShort(endMinutes[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            buffer.putInt(memberIds[i]);
+        }
+        buffer.flip();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private byte[] header() {
+        List<byte[]> labNames = encode(labs);
+        List<byte[]> seatNames = encode(seats);
+        int length = 4 + 2 + 4 + 4 + 2 + 4;
+        for (byte[] name : labNames) {
+            length += 2 + name.length + 2;
+        }
+        for (byte[] name : seatNames) {
+            length += 2 + name.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putInt(month.getYear() * 100 + month.getMonthValue());
+        buffer.putInt(size);
+        buffer.putShort((short) labNames.size());
+        for (int i = 0; i < labNames.size(); i++) {
+            buffer.putShort((short) labNames.get(i).length);
+            buffer.put(labNames.get(i));
+            buffer.putShort(capacities.get(i).shortValue());
+        }
+        buffer.putInt(seatNames.size());
+        for (byte[] name : seatNames) {
+            buffer.putShort((short) name.length);
+            buffer.put(name);
+        }
+        return buffer.array();
+    }
+
+    private int labCode(String roomNumber, int capacity) {
+        int code = code(roomNumber, labCodes, labs, MAX_LAB_CODES);
+        if (code == capacities.size()) {
+            capacities.add(capacity);
+        }
+        return code;
+    }
+
+    private static int code(String value, Map<String, Integer> codes, List<String> dictionary, int maxSize) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (dictionary.size() == maxSize) {
+            throw new IllegalStateException("사전 크기(" + maxSize + ")를 넘었습니다. : " + value);
+        }
+        codes.put(value, dictionary.size());
+        dictionary.add(value);
+        return dictionary.size() - 1;
+    }
+
+    private static List<byte[]> encode(List<String> values) {
+        List<byte[]> encoded = new ArrayList<>(values.size());
+        values.forEach(value -> encoded.add(value.getBytes(StandardCharsets.UTF_8)));
+        return encoded;
+    }
+
+    private void grow() {
+        int capacity = days.length * 2;
+        days = Arrays.copyOf(days, capacity);
+        labColumn = Arrays.copyOf(labColumn, capacity);
+        permissions = Arrays.copyOf(permissions, capacity);
+        seatColumn = Arrays.copyOf(seatColumn, capacity);
+        startMinutes = Arrays.copyOf(startMinutes, capacity);
+        endMinutes = Arrays.copyOf(endMinutes, capacity);
+        memberIds = Arrays.copyOf(memberIds, capacity);
+    }
+}
@@ -0,0 +1,149 @@
+package lab.reservation_server.analytics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+
+/**
+ * ReservationColumns로 쓴 한 달치 예약 파일을 memory-map 해서 읽는다. (형식은 ReservationColumns 참고)
+ * 데이터는 heap에 올리지 않고 OS page cache에서 바로 읽으며, 절대 위치 get만 사용하므로 여러 쓰레드에서 동시에 읽어도 된다.
+ */
+public class ReservationMonthFile {
+
+    private final MappedByteBuffer buffer;
+    private final YearMonth month;
+    private final int rows;
+    private final String[] labs;
+    private final int[] capacities;
+    private final String[] seats;
+
+    private final int dayOffset;
+    private final int labOffset;
+    private final int permissionOffset;
+    private final int seatOffset;
+    private final int startOffset;
+    private final int endOffset;
+    private final int memberOffset;
+
+    private ReservationMonthFile(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        if (buffer.getInt() != ReservationColumns.MAGIC) {
+            throw new IOException("예약 분석 파일이 아닙니다.");
+        }
+        short version = buffer.getShort();
+        if (version != ReservationColumns.VERSION) {
+            throw new IOException("지원하지 않는 예약 분석 파일 버전입니다. : " + version);
+        }
+        int yearMonth = buffer.getInt();
+        this.month = YearMonth.of(yearMonth / 100, yearMonth % 100);
+        this.rows = buffer.getInt();
+
+        int labCount = buffer.getShort();
+        this.labs = new String[labCount];
+        this.capacities = new int[labCount];
+        for (int i = 0; i < labCount; i++) {
+            labs[i] = readString();
+            capacities[i] = buffer.getShort();
+        }
+        int seatCount = buffer.getInt();
+        this.seats = new String[seatCount];
+        for (int i = 0; i < seatCount; i++) {
+            seats[i] = readString();
+        }
+
+        this.dayOffset = buffer.position();
+        this.labOffset = dayOffset + rows;
+        this.permissionOffset = labOffset + rows;
+        this.seatOffset = permissionOffset + rows;
+        this.startOffset = seatOffset + rows * 2;
+        this.endOffset = startOffset + rows * 2;
+        this.memberOffset = endOffset + rows * 2;
+
+        if (memberOffset + rows * 4 != buffer.limit()) {
+            throw new IOException("예약 분석 파일 크기가 올바르지 않습니다.");
+        }
+    }
+
+    public static ReservationMonthFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // channel을 닫아도 mapping은 GC될 때까지 유지된다.
+            return new ReservationMonthFile(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * 현재 형식(VERSION)으로 쓰인 파일인지, 이전 버전 파일은 다시 내보내야 한다.
+     */
+    public static boolean isCurrentVersion(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(6);
+            return channel.read(header, 0) == 6 && header.getInt(0) == ReservationColumns.MAGIC
+                && header.getShort(4) == ReservationColumns.VERSION;
+        }
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int labCount() {
+        return labs.length;
+    }
+
+    public String labName(int code) {
+        return labs[code];
+    }
+
+    public int labCapacity(int code) {
+        return capacities[code];
+    }
+
+    public String seatName(int code) {
+        return seats[code];
+    }
+
+    public int day(int row) {
+        return buffer.get(dayOffset + row);
+    }
+
+    public int lab(int row) {
+        return Byte.toUnsignedInt(buffer.get(labOffset + row));
+    }
+
+    public int seat(int row) {
+        return Short.toUnsignedInt(buffer.getShort(seatOffset + row * 2));
+    }
+
+    public boolean permission(int row) {
+        return buffer.get(permissionOffset + row) != 0;
+    }
+
+    public int startMinute(int row) {
+        return buffer.getShort(startOffset + row * 2);
+    }
+
+    public int endMinute(int row) {
+        return buffer.getShort(endOffset + row * 2);
+    }
+
+    public int memberId(int row) {
+        return buffer.getInt(memberOffset + row * 4);
+    }
+
+    private String readString() {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
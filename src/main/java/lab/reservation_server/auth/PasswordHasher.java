@@ -0,0 +1,171 @@
+package lab.reservation_server.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import javax.annotation.PreDestroy;
+import lab.reservation_server.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 비밀번호 해시 및 검증
+ * bcrypt 연산은 CPU를 많이 쓰기 때문에 코어 수 만큼의 전용 스레드에서만 처리하고,
+ * 대기열이 가득 차면 바로 거절해서 9시 로그인 폭주가 예약, 조회를 처리하는 tomcat 스레드의 CPU를 뺏지 않도록 한다.
+ *
+ * 기존에 평문으로 저장된 비밀번호는 로그인 성공 시 bcrypt로 다시 저장한다. (needsRehash)
+ * 비용(strength)은 src/jmh의 PasswordHashBenchmark로 측정해서 정한다.
+ *
+ * timeout은 요청 스레드가 기다리는 시간만 제한한다. bcrypt 연산은 interrupt에 반응하지 않으므로 이미 시작된 해시는
+ * timeout 이후에도 끝까지 계산되고, 대기열에서 아직 시작하지 않은 작업만 취소된다.
+ * 따라서 bcrypt가 쓰는 CPU는 timeout이 아니라 스레드 수(코어 수)로 제한된다.
+ * 호출하는 쪽은 해시를 기다리는 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션 밖에서 호출해야 한다.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final long timeoutMs;
+
+    public PasswordHasher(@Value("${lab.password.bcrypt-strength:10}") int strength,
+                          @Value("${lab.password.queue-size:256}") int queueSize,
+                          @Value("${lab.password.timeout-ms:3000}") long timeoutMs,
+                          @Value("${lab.password.bulk-threads:0}") int bulkThreads) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int bulk = bulkThreads > 0 ? bulkThreads : Math.max(1, cores / 2);
+
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(cores, cores, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize), new PasswordThreadFactory("password-hasher-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        // 일괄 등록은 로그인 대기열을 채우지 않도록 따로 두고, 대기열이 차면 호출한 스레드가 직접 해시해서 속도를 맞춘다.
+        this.bulkExecutor = new ThreadPoolExecutor(bulk, bulk, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(bulk * 2), new PasswordThreadFactory("password-bulk-hasher-"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+        log.info("password hasher 스레드 {}개 (일괄 등록 {}개) , bcrypt strength {}", cores, bulk, strength);
+    }
+
+    /**
+     * 비밀번호를 bcrypt로 해시한다.
+     */
+    public String encode(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * 여러 비밀번호를 일괄 등록용 스레드에서 나눠서 해시한다. (회원 일괄 등록용)
+     * 로그인용 스레드, 대기열과 분리되어 있어서 일괄 등록 중에도 로그인이 거절(503)되지 않는다.
+     * 대기열이 가득 차면 거절하지 않고 호출한 스레드에서 직접 해시해서 자연스럽게 속도를 맞춘다.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            futures.add(bulkExecutor.submit(() -> encoder.encode(rawPassword)));
+        }
+
+        List<String> encoded = new ArrayList<>(futures.size());
+        for (Future<String> future : futures) {
+            encoded.add(await(future));
+        }
+        return encoded;
+    }
+
+    /**
+     * 저장된 비밀번호와 일치하는지 확인한다. 아직 해시되지 않은 기존 비밀번호도 비교할 수 있다.
+     */
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (!isHashed(storedPassword)) {
+            return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        return submit(() -> encoder.matches(rawPassword, storedPassword));
+    }
+
+    /**
+     * 평문이거나 현재 설정보다 낮은 비용으로 해시된 비밀번호인지 확인
+     */
+    public boolean needsRehash(String storedPassword) {
+        return !isHashed(storedPassword) || encoder.upgradeEncoding(storedPassword);
+    }
+
+    public boolean isHashed(String storedPassword) {
+        return storedPassword != null && BCRYPT_PATTERN.matcher(storedPassword).matches();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("로그인 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 대기열에 있는 작업만 실행되지 않고, 이미 계산 중인 bcrypt는 interrupt 해도 멈추지 않는다.
+            future.cancel(false);
+            throw new ServiceUnavailableException("로그인 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("비밀번호 확인 중 요청이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("비밀번호 확인 중 요청이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        bulkExecutor.shutdown();
+    }
+
+    private static class PasswordThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private PasswordThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
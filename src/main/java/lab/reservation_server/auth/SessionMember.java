@@ -0,0 +1,87 @@
+package lab.reservation_server.auth;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lab.reservation_server.cache.MemberSummary;
+import lab.reservation_server.domain.enums.Role;
+import lab.reservation_server.dto.response.member.LoginMember;
+import lab.reservation_server.exception.ForbiddenException;
+import lab.reservation_server.exception.UnauthorizedException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 세션 토큰에 서명되어 담겨있는 로그인 사용자 정보
+ * SessionTokenFilter가 토큰을 검증하고 권한, 인증 여부를 현재 회원 정보로 바꾼 뒤 request attribute로 넣어준다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionMember {
+
+    public static final String ATTRIBUTE = "sessionMember";
+
+    private Long memberId;
+
+    private String userId;
+
+    private String name;
+
+    private String major;
+
+    private String role;
+
+    private Boolean isAuth;
+
+    /**
+     * 발급 시점의 회원 세션 토큰 버전, SessionTokenFilter가 현재 버전과 비교한다.
+     */
+    private Integer tokenVersion;
+
+    /**
+     * 토큰 만료 시간 (epoch seconds)
+     */
+    private long expiresAt;
+
+    public static SessionMember of(LoginMember member, long expiresAt) {
+        return new SessionMember(member.getId(), member.getUserId(), member.getName(), member.getMajor(),
+            member.getRole().getAuthority(), member.getIsAuth(), member.getTokenVersion(), expiresAt);
+    }
+
+    /**
+     * 토큰에 서명된 값 대신 현재 회원 정보(캐시)로 바꾼 세션, 권한과 인증 여부는 발급 이후에도 바뀔 수 있다.
+     */
+    public SessionMember refresh(MemberSummary summary) {
+        return new SessionMember(memberId, summary.getUserId(), summary.getName(), summary.getMajor(),
+            summary.getRole().getAuthority(), summary.getIsAuth(), tokenVersion, expiresAt);
+    }
+
+    /**
+     * 세션 토큰이 없으면 401
+     */
+    public static SessionMember require(SessionMember session) {
+        if (session == null) {
+            throw new UnauthorizedException("로그인이 필요합니다.");
+        }
+        return session;
+    }
+
+    /**
+     * 세션 토큰이 없으면 401, 조교 혹은 교수가 아니면 403 (SessionTokenFilter가 캐시에서 확인한 현재 권한으로 확인한다)
+     */
+    public static SessionMember requireManager(SessionMember session, String message) {
+        if (!require(session).isManager()) {
+            throw new ForbiddenException(message);
+        }
+        return session;
+    }
+
+    public boolean isSameUser(String userId) {
+        return this.userId.equals(userId);
+    }
+
+    @JsonIgnore
+    public boolean isManager() {
+        return Role.ADMIN.getAuthority().equals(role) || Role.PROF.getAuthority().equals(role);
+    }
+}
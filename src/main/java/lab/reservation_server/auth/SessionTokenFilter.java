@@ -0,0 +1,68 @@
+package lab.reservation_server.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lab.reservation_server.cache.MemberSummaryCache;
+import lab.reservation_server.dto.response.DefaultMessageResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Authorization: Bearer {세션 토큰} 헤더가 있으면 서명을 검증하고, MemberSummaryCache의 현재 회원 정보와 비교해서
+ * SessionMember를 request attribute로 넣어준다.
+ *
+ * 토큰의 버전이 회원의 현재 세션 토큰 버전과 다르거나(권한, 비밀번호 변경) 탈퇴한 회원이면 401로 거절하고,
+ * 권한, 인증 여부는 토큰에 서명된 값이 아닌 현재 값으로 바꾼다.
+ * 캐시는 회원마다 TTL(기본 30초)동안 재사용되므로 다른 서버에서 바뀐 경우 최대 TTL 만큼 늦게 반영된다.
+ * 헤더가 없는 요청은 기존처럼 그대로 통과시킨다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final SessionTokenProvider sessionTokenProvider;
+    private final MemberSummaryCache memberSummaryCache;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (authorization == null || !authorization.startsWith(BEARER)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<SessionMember> sessionMember =
+            sessionTokenProvider.verify(authorization.substring(BEARER.length()).trim())
+                .flatMap(session -> memberSummaryCache.findById(session.getMemberId())
+                    .filter(summary -> Objects.equals(summary.getTokenVersion(), session.getTokenVersion()))
+                    .map(session::refresh));
+
+        if (sessionMember.isEmpty()) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            objectMapper.writeValue(response.getWriter(),
+                DefaultMessageResponse.of("세션이 유효하지 않습니다. 다시 로그인 해주세요."));
+            return;
+        }
+
+        request.setAttribute(SessionMember.ATTRIBUTE, sessionMember.get());
+        filterChain.doFilter(request, response);
+    }
+}
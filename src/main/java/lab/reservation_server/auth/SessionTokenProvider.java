@@ -0,0 +1,103 @@
+package lab.reservation_server.auth;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lab.reservation_server.dto.response.member.LoginMember;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로그인 시 발급하는 서명된 세션 토큰
+ * 토큰 형식 : base64url(payload json) + "." + base64url(HmacSHA256(payload))
+ * 토큰 안에 회원 id, 학번, 권한, 인증 여부, 세션 토큰 버전이 담겨있어서 서명 검증에는 DB를 조회하지 않는다.
+ * 토큰을 취소할 수 있도록 SessionTokenFilter가 버전을 MemberSummaryCache의 현재 버전과 비교한다.
+ */
+@Component
+public class SessionTokenProvider {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec secretKey;
+    private final Duration ttl;
+
+    public SessionTokenProvider(ObjectMapper objectMapper,
+                                @Value("${lab.session.secret:}") String secret,
+                                @Value("${lab.session.ttl-hours:12}") long ttlHours) {
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+
+        // 서버마다 임의의 키를 쓰면 다른 서버가 발급한 토큰을 검증할 수 없으므로 키 설정 없이는 시작하지 않는다.
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+        if (key.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException(
+                "lab.session.secret은 " + MIN_KEY_BYTES + " byte 이상으로 모든 서버에 같은 값을 설정해야 합니다.");
+        }
+        this.secretKey = new SecretKeySpec(key, ALGORITHM);
+    }
+
+    /**
+     * 회원 정보를 담은 세션 토큰 발급
+     */
+    public String issue(LoginMember member) {
+        SessionMember sessionMember = SessionMember.of(member, Instant.now().plus(ttl).getEpochSecond());
+        try {
+            String payload = encode(objectMapper.writeValueAsBytes(sessionMember));
+            return payload + "." + encode(sign(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("세션 토큰 발급에 실패하였습니다.", e);
+        }
+    }
+
+    /**
+     * 서명과 만료 시간을 검증하고, 유효하면 세션 정보를 반환한다.
+     */
+    public Optional<SessionMember> verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+
+        String payload = token.substring(0, dot);
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return Optional.empty();
+            }
+
+            SessionMember sessionMember =
+                objectMapper.readValue(Base64.getUrlDecoder().decode(payload), SessionMember.class);
+            if (sessionMember.getExpiresAt() < Instant.now().getEpochSecond()) {
+                return Optional.empty();
+            }
+            return Optional.of(sessionMember);
+        } catch (IllegalArgumentException | java.io.IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(secretKey);
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
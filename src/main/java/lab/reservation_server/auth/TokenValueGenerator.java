@@ -0,0 +1,118 @@
+package lab.reservation_server.auth;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import lab.reservation_server.domain.TokenSequence;
+import lab.reservation_server.repository.TokenSequenceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 6자리(16진수) 토큰 값 발급
+ *
+ * 0 ~ 2^24-1 카운터를 Feistel 네트워크로 섞어서 토큰 값을 만든다.
+ * Feistel 네트워크는 어떤 round 함수를 써도 1:1 대응(순열)이므로 카운터가 다르면 토큰 값도 반드시 다르다.
+ * 따라서 DB에 같은 값이 있는지 미리 조회할 필요가 없고, 값은 카운터 순서와 무관하게 흩어져서 추측하기 어렵다.
+ *
+ * 카운터는 DB의 token_sequence 행에서 blockSize개씩 나눠 받아 서버 메모리에서 소비한다. (서버가 여러대여도 겹치지 않음)
+ * 2^24개(약 1,677만개)를 모두 쓰면 처음 값부터 같은 순서로 다시 사용하므로, 만료된 토큰은 TokenPurgeSchedule로 지운다.
+ * 즉 토큰은 그 뒤로 2^24개가 더 발급되기 전에 만료되어야 한다. 한 바퀴를 돈 값이 아직 유효한 토큰과 겹치면
+ * TokenServiceImpl이 ActiveTokenCache로 걸러서 건너뛰고, 마지막으로 token.value의 unique 제약 조건이 막는다.
+ */
+@Component
+public class TokenValueGenerator {
+
+    private static final int BITS = 24;
+    private static final int HALF_BITS = BITS / 2;
+    private static final int HALF_MASK = (1 << HALF_BITS) - 1;
+    private static final long COUNTER_MASK = (1L << BITS) - 1;
+    private static final int ROUNDS = 4;
+
+    private final TokenSequenceRepository tokenSequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+
+    private long next;
+    private long blockEnd;
+    private long key;
+
+    public TokenValueGenerator(TokenSequenceRepository tokenSequenceRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${lab.token.block-size:64}") int blockSize) {
+        this.tokenSequenceRepository = tokenSequenceRepository;
+        this.blockSize = blockSize;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public synchronized String next() {
+        return next(1).get(0);
+    }
+
+    /**
+     * count개를 한번에 발급, 남은 구간을 먼저 쓰고 모자란 만큼만 한번에 받아온다.
+     */
+    public synchronized List<String> next(int count) {
+        List<String> values = new ArrayList<>(count);
+        while (values.size() < count) {
+            if (next >= blockEnd) {
+                allocate(Math.max(count - values.size(), blockSize));
+            }
+            values.add(format(permute(next++ & COUNTER_MASK, key)));
+        }
+        return values;
+    }
+
+    private void allocate(int size) {
+        TokenSequence allocated;
+        try {
+            allocated = transactionTemplate.execute(status -> allocateInTransaction(size));
+        } catch (DataIntegrityViolationException e) {
+            // 두 서버가 동시에 처음 행을 만든 경우, 다른 서버가 만든 행으로 다시 시도
+            allocated = transactionTemplate.execute(status -> allocateInTransaction(size));
+        }
+        this.key = allocated.getPermutationKey();
+        this.blockEnd = allocated.getNextValue();
+        this.next = blockEnd - size;
+    }
+
+    private TokenSequence allocateInTransaction(int size) {
+        TokenSequence sequence = tokenSequenceRepository.findForUpdate(TokenSequence.ID)
+            .orElseGet(() -> tokenSequenceRepository.saveAndFlush(new TokenSequence(new SecureRandom().nextLong())));
+        sequence.allocate(size);
+        return sequence;
+    }
+
+    /**
+     * 24bit 값을 12bit씩 나눈 Feistel 네트워크 (ROUNDS회)
+     */
+    static int permute(long counter, long key) {
+        int left = (int) (counter >>> HALF_BITS) & HALF_MASK;
+        int right = (int) counter & HALF_MASK;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            int roundKey = (int) (key >>> (round * 16)) & 0xFFFF;
+            int mixed = left ^ roundFunction(right, roundKey);
+            left = right;
+            right = mixed;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static int roundFunction(int value, int roundKey) {
+        int x = (value ^ roundKey) * 0x2C1B3C6D;
+        x ^= x >>> 15;
+        x *= 0x297A2D39;
+        x ^= x >>> 15;
+        return x & HALF_MASK;
+    }
+
+    private static String format(int value) {
+        return String.format("%06x", value);
+    }
+}
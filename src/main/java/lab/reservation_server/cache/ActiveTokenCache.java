@@ -0,0 +1,117 @@
+package lab.reservation_server.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lab.reservation_server.domain.Token;
+import lab.reservation_server.repository.TokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 만료되지 않은 토큰 값 -> 만료일
+ * 학기 초 토큰 인증이 몰릴 때 토큰 확인을 DB 조회 없이 처리한다. (유효한 토큰은 많아야 분반 수 x 학생 수)
+ *
+ * 서버 시작 시, 그리고 10분마다 만료되지 않은 토큰 전체를 다시 읽고, 이 서버에서 발급한 토큰은 바로 넣는다.
+ * 캐시에 없는 값은 다른 서버에서 방금 발급했을 수 있으므로 DB에서 한번 더 확인한다.
+ *
+ * DB에도 없는 값(잘못 입력했거나 추측한 토큰)은 missing에 잠시(기본 10초) 보관해서, 같은 값을 반복해서 넣는 요청이
+ * 매번 DB를 조회하지 않도록 한다. 이 서버에서 발급한 값은 바로 지우지만, 다른 서버에서 발급된 값은 보관 시간이 지날 때까지 없는 토큰으로 응답할 수 있다.
+ */
+@Slf4j
+@Component
+public class ActiveTokenCache {
+
+    private final TokenRepository tokenRepository;
+
+    private volatile Map<String, LocalDate> tokens = new ConcurrentHashMap<>();
+
+    /**
+     * DB에도 없었던 토큰 값
+     */
+    private final Cache<String, Boolean> missing;
+
+    public ActiveTokenCache(TokenRepository tokenRepository, MeterRegistry meterRegistry,
+                            @Value("${lab.token-cache.missing-max-size:100000}") long missingMaxSize,
+                            @Value("${lab.token-cache.missing-ttl-seconds:10}") long missingTtlSeconds) {
+        this.tokenRepository = tokenRepository;
+        this.missing = Caffeine.newBuilder()
+            .maximumSize(missingMaxSize)
+            .expireAfterWrite(Duration.ofSeconds(missingTtlSeconds))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, missing, "activeToken.missing");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public void reload() {
+        Map<String, LocalDate> loaded = new ConcurrentHashMap<>();
+        List<Token> active = tokenRepository.findAllByExpirationGreaterThanEqual(LocalDate.now());
+        active.forEach(token -> loaded.put(token.getValue(), token.getExpiration()));
+
+        // 다시 읽는 동안 발급된 토큰이 빠지지 않도록 기존 값 중 아직 유효한 것은 남긴다.
+        Map<String, LocalDate> previous = tokens;
+        previous.forEach((value, expiration) -> {
+            if (!expiration.isBefore(LocalDate.now())) {
+                loaded.putIfAbsent(value, expiration);
+            }
+        });
+
+        tokens = loaded;
+        log.debug("유효한 토큰 {}개 로딩", loaded.size());
+    }
+
+    /**
+     * 토큰의 만료일 반환, 없는 토큰이면 empty
+     */
+    public Optional<LocalDate> findExpiration(String value) {
+        LocalDate expiration = tokens.get(value);
+        if (expiration != null) {
+            return Optional.of(expiration);
+        }
+
+        if (missing.getIfPresent(value) != null) {
+            return Optional.empty();
+        }
+
+        Optional<LocalDate> fromDb = tokenRepository.findByValue(value).map(Token::getExpiration);
+        if (fromDb.isEmpty()) {
+            missing.put(value, Boolean.TRUE);
+            return fromDb;
+        }
+        fromDb.filter(date -> !date.isBefore(LocalDate.now()))
+            .ifPresent(date -> tokens.put(value, date));
+        return fromDb;
+    }
+
+    /**
+     * 이 서버가 알고 있는 유효한 토큰인지, DB는 조회하지 않는다. (새로 발급할 값이 아직 유효한 토큰과 겹치는지 확인)
+     */
+    public boolean contains(String value) {
+        LocalDate expiration = tokens.get(value);
+        return expiration != null && !expiration.isBefore(LocalDate.now());
+    }
+
+    public void put(String value, LocalDate expiration) {
+        tokens.put(value, expiration);
+        missing.invalidate(value);
+    }
+
+    public void putAll(List<String> values, LocalDate expiration) {
+        values.forEach(value -> tokens.put(value, expiration));
+        missing.invalidateAll(values);
+    }
+}
@@ -0,0 +1,169 @@
+package lab.reservation_server.cache;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lab.reservation_server.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 학번, 전화번호 중복 확인용 Bloom filter
+ * false면 DB에 절대 없는 값이므로 조회하지 않고, true인 경우에만 DB의 exists 조회로 확인한다.
+ *
+ * Bloom filter는 값을 지울 수 없기 때문에 탈퇴, 학번 변경으로 남은 값이 threshold를 넘으면 다시 만든다.
+ * 다시 만드는 동안 들어온 값은 새 filter에도 넣어서 빠지는 값이 없도록 한다. (put과 filter 교체는 같은 lock 안에서 한다)
+ * 서버 시작 후 처음 만들어지기 전까지는 항상 true를 반환한다. (DB 조회로 처리)
+ *
+ * filter는 서버마다 있으므로 다른 서버에서 가입, 수정된 값은 sync()가 modifiedDate로 주기적으로 가져와 넣는다.
+ * 그 사이(최대 syncMs)에는 false negative가 생길 수 있으므로, 최종 중복 확인은 DB의 unique 제약 조건이 한다.
+ * (위반은 DuplicateException 혹은 GlobalExceptionHandler에서 409로 응답)
+ */
+@Slf4j
+@Component
+public class MemberExistenceFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * 서버 간 시계 차이와 커밋 지연으로 놓치는 값이 없도록 이전 sync 시점보다 이만큼 앞에서부터 다시 읽는다.
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final MemberRepository memberRepository;
+    private final int expectedMembers;
+    private final int staleThreshold;
+
+    private final Object lock = new Object();
+    private volatile Filters current;
+    private Filters building;
+    private volatile LocalDateTime lastSync;
+
+    private final AtomicInteger staleCount = new AtomicInteger();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public MemberExistenceFilter(MemberRepository memberRepository,
+                                 @Value("${lab.member-filter.expected:20000}") int expectedMembers,
+                                 @Value("${lab.member-filter.stale-threshold:1000}") int staleThreshold) {
+        this.memberRepository = memberRepository;
+        this.expectedMembers = expectedMembers;
+        this.staleThreshold = staleThreshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long count = memberRepository.count();
+            Filters filters = new Filters((int) Math.max(expectedMembers, count * 2));
+            synchronized (lock) {
+                building = filters;
+            }
+            staleCount.set(0);
+            LocalDateTime startedAt = LocalDateTime.now();
+
+            List<Object[]> keys = memberRepository.findAllUserIdAndPhoneNum();
+            for (Object[] key : keys) {
+                filters.put((String) key[0], (String) key[1]);
+            }
+
+            // 교체 전에 put된 값은 building에, 교체 후에 put된 값은 새 current에 들어간다.
+            synchronized (lock) {
+                current = filters;
+                building = null;
+            }
+            lastSync = startedAt;
+            log.info("회원 중복 확인 filter 생성 완료 : {}명", keys.size());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    public boolean mightContainUserId(String userId) {
+        Filters filters = current;
+        return filters == null || filters.userIds.mightContain(userId);
+    }
+
+    public boolean mightContainPhoneNum(String phoneNum) {
+        Filters filters = current;
+        return filters == null || filters.phoneNums.mightContain(phoneNum);
+    }
+
+    /**
+     * 회원가입, 회원 정보 수정 시 새 값 추가 (커밋 전에 넣어도 false positive만 생기므로 바로 넣는다.)
+     */
+    public void put(String userId, String phoneNum) {
+        synchronized (lock) {
+            if (current != null) {
+                current.put(userId, phoneNum);
+            }
+            if (building != null) {
+                building.put(userId, phoneNum);
+            }
+        }
+    }
+
+    /**
+     * 다른 서버에서 가입, 수정된 회원의 학번, 전화번호를 가져와 넣는다.
+     */
+    @Scheduled(fixedDelayString = "${lab.member-filter.sync-ms:5000}")
+    public void sync() {
+        LocalDateTime since = lastSync;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        for (Object[] key : memberRepository.findUserIdAndPhoneNumModifiedSince(since.minus(SYNC_OVERLAP))) {
+            put((String) key[0], (String) key[1]);
+        }
+        lastSync = startedAt;
+    }
+
+    /**
+     * 탈퇴, 학번 변경 등으로 filter에 남게 되는 값이 생긴 경우 호출
+     */
+    public void markStale(int count) {
+        if (staleCount.addAndGet(count) >= staleThreshold && !rebuilding.get()) {
+            CompletableFuture.runAsync(this::build)
+                .exceptionally(e -> {
+                    log.error("회원 중복 확인 filter 재생성 실패", e);
+                    return null;
+                });
+        }
+    }
+
+    private static class Filters {
+
+        private final BloomFilter<CharSequence> userIds;
+        private final BloomFilter<CharSequence> phoneNums;
+
+        private Filters(int expected) {
+            this.userIds = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expected, FALSE_POSITIVE_RATE);
+            this.phoneNums = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expected, FALSE_POSITIVE_RATE);
+        }
+
+        /**
+         * BloomFilter.put은 여러 스레드에서 동시에 호출해도 안전하다. (guava 23 이상)
+         */
+        private void put(String userId, String phoneNum) {
+            if (userId != null) {
+                userIds.put(userId);
+            }
+            if (phoneNum != null) {
+                phoneNums.put(phoneNum);
+            }
+        }
+    }
+}
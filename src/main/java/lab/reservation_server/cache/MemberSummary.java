@@ -0,0 +1,48 @@
+package lab.reservation_server.cache;
+
+import lab.reservation_server.domain.Member;
+import lab.reservation_server.domain.Semester;
+import lab.reservation_server.domain.enums.Role;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 캐시에 보관하는 회원의 요약 정보
+ * 엔티티가 아니기 때문에 여러 스레드에서 같이 읽어도 안전하도록 변경 불가능한 값으로만 구성한다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class MemberSummary {
+
+    private final Long id;
+
+    private final String userId;
+
+    private final String name;
+
+    private final String major;
+
+    private final Role role;
+
+    private final Integer authSemester;
+
+    private final Integer warningCount;
+
+    private final String deviceToken;
+
+    private final Integer tokenVersion;
+
+    public static MemberSummary of(Member member) {
+        return new MemberSummary(member.getId(), member.getUserId(), member.getName(), member.getMajor(),
+            member.getRole(), member.getAuthSemester(), member.getWarningCount(), member.getDeviceToken(),
+            member.getTokenVersion());
+    }
+
+    /**
+     * 학기가 바뀌어도 캐시를 비울 필요가 없도록 조회 시점에 계산한다.
+     */
+    public Boolean getIsAuth() {
+        return Semester.isAuthenticated(role, authSemester);
+    }
+}
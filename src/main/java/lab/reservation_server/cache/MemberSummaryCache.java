@@ -0,0 +1,114 @@
+package lab.reservation_server.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import lab.reservation_server.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 학번, 회원 id로 회원 요약 정보를 조회하는 캐시
+ * 예약, 예약 내역, 경고, 인증 토큰 확인 등 대부분의 요청이 학번으로 회원을 조회하기 때문에 개수와 시간 제한을 두고 보관한다.
+ *
+ * 회원 정보를 변경하는 곳에서는 반드시 evict를 호출해야 한다.
+ * 트랜잭션 안에서 호출하면 즉시 한번, 트랜잭션이 끝난 뒤 한번 더 지워서
+ * 커밋 전에 다른 스레드가 이전 값을 다시 읽어 캐시에 넣는 경우도 남지 않도록 한다.
+ * 조회 결과가 없는 학번은 캐시하지 않는다.
+ *
+ * evict는 이 서버의 캐시만 지운다. 다른 서버에서 바뀐 회원 정보는 TTL이 지날 때까지 이전 값이 보일 수 있으므로
+ * TTL을 짧게(기본 30초) 둔다. 짧은 TTL에서도 몰리는 시간대에 같은 학번을 연달아 조회하는 요청은 캐시에서 처리된다.
+ *
+ * 적중률은 /actuator/metrics/cache.gets (cache=memberSummary.*) 로 확인
+ */
+@Component
+public class MemberSummaryCache {
+
+    private final MemberRepository memberRepository;
+    private final Cache<String, MemberSummary> byUserId;
+    private final Cache<Long, MemberSummary> byId;
+
+    public MemberSummaryCache(MemberRepository memberRepository, MeterRegistry meterRegistry,
+                              @Value("${lab.member-cache.max-size:10000}") long maxSize,
+                              @Value("${lab.member-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.memberRepository = memberRepository;
+        this.byUserId = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+        this.byId = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byUserId, "memberSummary.byUserId");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "memberSummary.byId");
+    }
+
+    public Optional<MemberSummary> findByUserId(String userId) {
+        return Optional.ofNullable(byUserId.get(userId,
+            key -> memberRepository.findByUserId(key).map(MemberSummary::of).orElse(null)));
+    }
+
+    public Optional<MemberSummary> findById(Long id) {
+        return Optional.ofNullable(byId.get(id,
+            key -> memberRepository.findById(key).map(MemberSummary::of).orElse(null)));
+    }
+
+    /**
+     * 회원 정보가 바뀌었을 때 호출, 학번이 바뀐 경우 이전 학번으로 호출해야 한다.
+     */
+    public void evict(Long id, String userId) {
+        invalidate(id, userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(id, userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * id를 모르는 일괄 update 후 호출, 학번으로 id 캐시까지 찾아서 지운다.
+     */
+    public void evictByUserIds(Collection<String> userIds) {
+        Set<String> targets = new HashSet<>(userIds);
+        invalidateByUserIds(targets);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateByUserIds(targets);
+                }
+            });
+        }
+    }
+
+    private void invalidateByUserIds(Set<String> userIds) {
+        byUserId.invalidateAll(userIds);
+        byId.asMap().values().removeIf(summary -> userIds.contains(summary.getUserId()));
+    }
+
+    private void invalidate(Long id, String userId) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+        if (userId != null) {
+            byUserId.invalidate(userId);
+        }
+    }
+}
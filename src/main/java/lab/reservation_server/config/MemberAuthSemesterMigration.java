@@ -0,0 +1,74 @@
+package lab.reservation_server.config;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import javax.annotation.PostConstruct;
+import lab.reservation_server.domain.Semester;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * member.is_auth(인증 여부) -> member.auth_semester(마지막으로 인증한 학기) 전환
+ * is_auth가 남아있는 DB라면 인증된 회원의 auth_semester를 이번 학기로 채운 뒤 is_auth를 지운다.
+ * is_auth는 NOT NULL 컬럼이라 남아있으면 is_auth를 넣지 않는 회원 가입, 일괄 등록 insert가 실패한다.
+ *
+ * 요청을 받기 전에 끝나야 하므로 ApplicationReadyEvent가 아닌 bean 초기화 시점에 실행한다.
+ * (entityManagerFactory 이후에 만들어지므로 ddl-auto로 auth_semester 컬럼이 추가된 뒤에 실행된다)
+ * 모든 문장이 여러 번 실행해도 결과가 같고, 다른 서버가 먼저 is_auth를 지웠다면 실패를 무시하므로 여러 서버가 동시에 시작해도 된다.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class MemberAuthSemesterMigration {
+
+    private static final String TABLE = "member";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        Set<String> columns = columnsOf(TABLE);
+        if (!columns.contains("is_auth")) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.execute("alter table member add column if not exists auth_semester integer");
+            int migrated = jdbcTemplate.update(
+                "update member set auth_semester = ? where is_auth = true and auth_semester is null",
+                Semester.current());
+            jdbcTemplate.execute("alter table member drop column if exists is_auth");
+            log.info("member.is_auth -> auth_semester 전환 완료 : 인증 회원 {}명", migrated);
+        } catch (DataAccessException e) {
+            // 동시에 시작한 다른 서버가 먼저 is_auth를 지운 경우
+            if (columnsOf(TABLE).contains("is_auth")) {
+                throw e;
+            }
+        }
+    }
+
+    private Set<String> columnsOf(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Set<String> columns = new HashSet<>();
+            // DB마다 식별자를 대문자(H2) 혹은 소문자(MariaDB)로 저장한다.
+            for (String name : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+                try (ResultSet resultSet = metaData.getColumns(connection.getCatalog(), null, name, null)) {
+                    while (resultSet.next()) {
+                        columns.add(resultSet.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            return columns;
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package lab.reservation_server.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import javax.sql.DataSource;
+import lab.reservation_server.metrics.BookingMetrics;
+import lab.reservation_server.metrics.CountingJdbcTemplate;
+import lab.reservation_server.metrics.QueryCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.jdbc.JdbcProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Spring Data repository 메소드 호출(spring.data.repository.invocations{repository, method, state})과
+     * 좌석 예약 단계 timer에 histogram과 p50, p95, p99를 기록한다. (/actuator/metrics 에서 확인)
+     */
+    @Bean
+    public MeterFilter latencyHistogramFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                String name = id.getName();
+                if (name.equals("spring.data.repository.invocations")
+                    || name.equals(BookingMetrics.STAGE_TIMER)
+                    || name.equals(BookingMetrics.REQUEST_TIMER)) {
+                    return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(0.5, 0.95, 0.99)
+                        .build()
+                        .merge(config);
+                }
+                return config;
+            }
+        };
+    }
+
+    /**
+     * 요청마다 실행된 SQL 문 수를 세기 위해 Hibernate StatementInspector 등록
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+    }
+
+    /**
+     * JdbcTemplate으로 실행한 SQL(예약 내역 조회 등)은 StatementInspector를 거치지 않으므로 JdbcTemplate에서 센다.
+     * 자동 설정의 JdbcTemplate 대신 등록하므로 spring.jdbc.template.* 설정을 같이 적용한다.
+     */
+    @Bean
+    public CountingJdbcTemplate jdbcTemplate(DataSource dataSource, JdbcProperties properties) {
+        CountingJdbcTemplate jdbcTemplate = new CountingJdbcTemplate(dataSource);
+        JdbcProperties.Template template = properties.getTemplate();
+        jdbcTemplate.setFetchSize(template.getFetchSize());
+        jdbcTemplate.setMaxRows(template.getMaxRows());
+        if (template.getQueryTimeout() != null) {
+            jdbcTemplate.setQueryTimeout((int) template.getQueryTimeout().getSeconds());
+        }
+        return jdbcTemplate;
+    }
+}
@@ -0,0 +1,35 @@
+package lab.reservation_server.controller;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import java.time.YearMonth;
+import lab.reservation_server.dto.response.analytics.UtilisationReport;
+import lab.reservation_server.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@Api(tags = "AnalyticsController : 예약 통계")
+@Slf4j
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    /**
+     * 지난 달들의 강의실별, 시간대별 좌석 이용률
+     */
+    @GetMapping("/api/analytics/utilisation")
+    @ApiOperation(value="좌석 이용률 조회" , notes = "from ~ to 달(yyyy-MM)의 강의실별, 시간대별 좌석 이용률을 조회한다. 끝난 달만 집계한다.")
+    public ResponseEntity<UtilisationReport> getUtilisation(
+        @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+        @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+
+        return ResponseEntity.ok(analyticsService.getUtilisation(from, to));
+    }
+}
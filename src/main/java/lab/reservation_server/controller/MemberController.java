@@ -3,25 +3,40 @@ package lab.reservation_server.controller;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiOperation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import javax.validation.Valid;
+import lab.reservation_server.auth.SessionMember;
 import lab.reservation_server.dto.request.member.MemberLogin;
 import lab.reservation_server.dto.request.member.MemberSignUp;
 import lab.reservation_server.dto.request.member.MemberUpdate;
 import lab.reservation_server.dto.request.member.UserIdCheck;
+import lab.reservation_server.dto.request.member.WarningRequest;
 import lab.reservation_server.dto.response.DefaultMessageResponse;
+import lab.reservation_server.dto.response.member.MemberImportResult;
 import lab.reservation_server.dto.response.member.MemberInfo;
+import lab.reservation_server.dto.response.member.MemberPage;
+import lab.reservation_server.dto.response.member.MemberSearchResult;
+import lab.reservation_server.dto.response.member.WarningCounts;
 import lab.reservation_server.dto.response.member.MemberSimpleInfos;
+import lab.reservation_server.service.MemberImportService;
 import lab.reservation_server.service.MemberService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequiredArgsConstructor
@@ -30,6 +45,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class MemberController {
 
     private final MemberService memberService;
+    private final MemberImportService memberImportService;
 
     /**
      * 회원가입
@@ -43,6 +59,18 @@ public class MemberController {
         return ResponseEntity.badRequest().body(new DefaultMessageResponse("회원가입 실패"));
     }
 
+    /**
+     * 학생 명단 CSV 일괄 등록
+     */
+    @PostMapping(value = "/api/member/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ApiOperation(value="회원 일괄 등록" , notes = "userId,password,name,email,phoneNum[,role] 형식의 CSV로 학생을 일괄 등록하고 행별 결과를 반환한다.")
+    public ResponseEntity<MemberImportResult> importMembers(@RequestPart("file") MultipartFile file,
+                                                            @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) throws IOException {
+        try (InputStream csv = file.getInputStream()) {
+            return ResponseEntity.ok(memberImportService.importMembers(csv, session));
+        }
+    }
+
     /**
      * 로그인
      */
@@ -85,8 +113,9 @@ public class MemberController {
     @DeleteMapping("/api/member/{userId}")
     @ApiImplicitParam(name = "userId" , value = "사용자 아이디(학번)" , required = true)
     @ApiOperation(value="회원정보 탈퇴" , notes = "회원정보 탈퇴를 할 수 있다.")
-    public ResponseEntity<DefaultMessageResponse> deleteMember(@PathVariable String userId) {
-        String message = memberService.deleteMember(userId);
+    public ResponseEntity<DefaultMessageResponse> deleteMember(@PathVariable String userId,
+                                                               @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+        String message = memberService.deleteMember(userId, session);
         return ResponseEntity.ok(new DefaultMessageResponse(message));
     }
 
@@ -101,14 +130,41 @@ public class MemberController {
         return ResponseEntity.ok(members);
     }
 
+    /**
+     * 조교 화면의 회원 목록 페이지 조회
+     */
+    @GetMapping("/api/members")
+    @ApiOperation(value="회원 목록 페이지 조회" , notes = "조교, 교수는 회원 목록을 id 순으로 페이지 단위로 조회할 수 있다. 다음 페이지는 응답의 nextId를 lastId로 넘긴다.")
+    public ResponseEntity<MemberPage> getMemberPage(@RequestParam(required = false) Long lastId,
+                                                    @RequestParam(defaultValue = "50") int size,
+                                                    @RequestParam(required = false) String role,
+                                                    @RequestParam(required = false) Boolean isAuth,
+                                                    @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+        MemberPage members = memberService.getMemberPage(lastId, size, role, isAuth, session);
+        return ResponseEntity.ok(members);
+    }
+
+    /**
+     * 회원 검색 (자동완성)
+     */
+    @GetMapping("/api/member/search")
+    @ApiImplicitParam(name = "q" , value = "학번, 이름, 전화번호 앞부분" , required = true)
+    @ApiOperation(value="회원 검색" , notes = "조교, 교수는 학번, 이름, 전화번호 앞부분으로 회원을 검색할 수 있다.")
+    public ResponseEntity<List<MemberSearchResult>> searchMembers(@RequestParam String q,
+                                                                  @RequestParam(defaultValue = "10") int limit,
+                                                                  @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+        return ResponseEntity.ok(memberService.searchMembers(q, limit, session));
+    }
+
     /**
      * 경고 부여
      */
     @PutMapping("/api/member/{userId}/warning")
     @ApiImplicitParam(name = "userId" , value = "사용자 아이디(학번)" , required = true)
     @ApiOperation(value="경고 부여" , notes = "경고 부여를 할 수 있다.")
-    public ResponseEntity<DefaultMessageResponse> warning(@PathVariable String userId) {
-        String message = memberService.warning(userId);
+    public ResponseEntity<DefaultMessageResponse> warning(@PathVariable String userId,
+                                                          @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+        String message = memberService.warning(userId, session);
         return ResponseEntity.ok(new DefaultMessageResponse(message));
     }
 
@@ -118,10 +174,31 @@ public class MemberController {
     @PutMapping("/api/member/{userId}/warning/reset")
     @ApiImplicitParam(name = "userId" , value = "사용자 아이디(학번)" , required = true)
     @ApiOperation(value="경고 초기화" , notes = "경고 초기화를 할 수 있다.")
-    public ResponseEntity<DefaultMessageResponse> resetWarning(@PathVariable String userId) {
-        String message = memberService.resetWarning(userId);
+    public ResponseEntity<DefaultMessageResponse> resetWarning(@PathVariable String userId,
+                                                               @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+        String message = memberService.resetWarning(userId, session);
         return ResponseEntity.ok(new DefaultMessageResponse(message));
     }
 
+    /**
+     * 일괄 경고 부여
+     */
+    @PutMapping("/api/member/warning")
+    @ApiOperation(value="일괄 경고 부여" , notes = "여러 학생에게 경고를 1회씩 부여하고 변경된 경고 횟수를 반환한다.")
+    public ResponseEntity<WarningCounts> warnings(@RequestBody @Valid WarningRequest warningRequest,
+                                                  @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+        return ResponseEntity.ok(memberService.warnings(warningRequest.getUserIds(), session));
+    }
+
+    /**
+     * 일괄 경고 초기화
+     */
+    @PutMapping("/api/member/warning/reset")
+    @ApiOperation(value="일괄 경고 초기화" , notes = "여러 학생의 경고 횟수를 초기화하고 변경된 경고 횟수를 반환한다.")
+    public ResponseEntity<WarningCounts> resetWarnings(@RequestBody @Valid WarningRequest warningRequest,
+                                                       @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+        return ResponseEntity.ok(memberService.resetWarnings(warningRequest.getUserIds(), session));
+    }
+
 
 }
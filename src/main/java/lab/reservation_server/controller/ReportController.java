@@ -1,18 +1,31 @@
 package lab.reservation_server.controller;
 
 import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiOperation;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import javax.validation.Valid;
+import lab.reservation_server.auth.SessionMember;
 import lab.reservation_server.dto.request.report.ReportRequest;
 import lab.reservation_server.dto.response.DefaultMessageResponse;
+import lab.reservation_server.dto.response.report.ReportInfo;
 import lab.reservation_server.dto.response.report.ReportInfos;
+import lab.reservation_server.dto.response.report.ReportPage;
+import lab.reservation_server.dto.response.report.ReportSummary;
 import lab.reservation_server.service.ReportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -48,6 +61,49 @@ public class ReportController {
         return ResponseEntity.ok(reportInfos);
     }
 
+    /**
+     * 문의 신고 목록 페이지 조회 (최신순, 내용 제외)
+     */
+    @GetMapping("/api/reports")
+    @ApiOperation(value="문의 신고 목록 페이지 조회" , notes = "문의 신고 내역을 최신순으로 페이지 단위로 조회한다. 다음 페이지는 응답의 nextCreateDate, nextId를 lastCreateDate, lastId로 넘긴다.")
+    public ResponseEntity<ReportPage> getReportPage(
+        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime lastCreateDate,
+        @RequestParam(required = false) Long lastId,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(required = false) String userId,
+        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+        @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+
+        ReportPage reportPage = reportService.getReportPage(lastCreateDate, lastId, size, userId, from, to, session);
+
+        return ResponseEntity.ok(reportPage);
+    }
+
+    /**
+     * 문의 신고 검색
+     */
+    @GetMapping("/api/reports/search")
+    @ApiImplicitParam(name = "q" , value = "검색어 (좌석 번호, 호실, 장비 이름 등)" , required = true)
+    @ApiOperation(value="문의 신고 검색" , notes = "제목, 내용에 검색어가 들어간 문의 신고를 관련도 순으로 조회한다.")
+    public ResponseEntity<List<ReportSummary>> searchReports(@RequestParam String q,
+                                                             @RequestParam(defaultValue = "20") int limit,
+                                                             @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+        return ResponseEntity.ok(reportService.searchReports(q, limit, session));
+    }
+
+    /**
+     * 문의 신고 상세 조회
+     */
+    @GetMapping("/api/reports/{reportId}")
+    @ApiImplicitParam(name = "reportId" , value = "문의 신고 id" , required = true)
+    @ApiOperation(value="문의 신고 상세 조회" , notes = "문의 신고 내용을 포함한 상세 내역을 조회한다.")
+    public ResponseEntity<ReportInfo> getReportDetail(@PathVariable Long reportId,
+                                                      @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+
+        return ResponseEntity.ok(reportService.getReport(reportId, session));
+    }
+
 
 
 
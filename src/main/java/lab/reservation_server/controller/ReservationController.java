@@ -4,7 +4,9 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiOperation;
 import java.io.IOException;
+import java.time.LocalDateTime;
 import javax.validation.Valid;
+import lab.reservation_server.auth.SessionMember;
 import lab.reservation_server.dto.request.reservation.BookRequest;
 import lab.reservation_server.dto.request.reservation.ExtendRequest;
 import lab.reservation_server.dto.request.reservation.PermissionUpdate;
@@ -13,16 +15,24 @@ import lab.reservation_server.dto.response.DefaultMessageResponse;
 import lab.reservation_server.dto.response.reservation.BookInfo;
 import lab.reservation_server.dto.response.reservation.ReservationInfos;
 import lab.reservation_server.dto.response.reservation.ReservationInfosWithManager;
+import lab.reservation_server.dto.response.reservation.ReservationPage;
+import lab.reservation_server.metrics.QueryBudget;
 import lab.reservation_server.service.ReservationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -38,8 +48,9 @@ public class ReservationController {
      */
     @PostMapping("/api/reservation")
     @ApiOperation(value="실습실 자리 예약" , notes = "실습실 자리를 예약할 수 있다.")
-    public ResponseEntity<BookInfo> book(@RequestBody @Valid BookRequest book) {
-      BookInfo bookInfo = reservationService.doReservation(book);
+    public ResponseEntity<BookInfo> book(@RequestBody @Valid BookRequest book,
+                                         @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+      BookInfo bookInfo = reservationService.doReservation(book, session);
        return ResponseEntity.ok(bookInfo);
     }
 
@@ -48,9 +59,11 @@ public class ReservationController {
      */
     @GetMapping("/api/reservations/{userId}")
     @ApiImplicitParam(name = "userId" , value = "사용자 아이디" , required = true)
+    @QueryBudget(3)
     @ApiOperation(value="내 예약 조회" , notes = "내 예약 정보를 모두 조회할 수 있다.")
-    public ResponseEntity<ReservationInfos> getReservationFromMemberId(@PathVariable String userId) {
-      ReservationInfos infos = reservationService.getAllReservationFromMemberId(userId);
+    public ResponseEntity<ReservationInfos> getReservationFromMemberId(@PathVariable String userId,
+                                                                       @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+      ReservationInfos infos = reservationService.getAllReservationFromMemberId(userId, session);
       return ResponseEntity.ok(infos);
     }
 
@@ -58,6 +71,7 @@ public class ReservationController {
      * 조교가 17시 이후에 사용하고자 하는 미승인 예약 내역을 조회할 수 있다.
      */
     @GetMapping("/api/reservations/unauthorized")
+    @QueryBudget(2)
     @ApiOperation(value="17시 이후 예약 조회" , notes = "조교는 17시 이후 승인되지 않은 예약 내역을 조회할 수 있다.")
     public ResponseEntity<ReservationInfos> getUnauthorizedReservation() {
       ReservationInfos infos = reservationService.getUnauthorizedReservation();
@@ -69,6 +83,7 @@ public class ReservationController {
      * 특정 강의실, 특정 시간에 승인된 예약 현황을 확인할 수 있다.
      */
     @PostMapping("/api/reservations/list")
+    @QueryBudget(5)
     @ApiOperation(value="특정 강의실 승인된 예약 현황(사용자) 조회" , notes = "특정 강의실, 특정 시간에 승인된 예약 현황(사용자)을 확인할 수 있다.")
     public ResponseEntity<ReservationInfosWithManager> getReservationFromRoomNumber(@RequestBody @Valid RoomAndTime roomAndTime) {
       ReservationInfosWithManager infos = reservationService.getReservationFromRoomNumber(roomAndTime);
@@ -103,12 +118,43 @@ public class ReservationController {
      */
     @GetMapping("/api/reservations/{userId}/all")
     @ApiImplicitParam(name = "userId" , value = "사용자 아이디" , required = true)
+    @QueryBudget(3)
     @ApiOperation(value="내 예약 내역 조회" , notes = "내 예약 내역을 모두 조회할 수 있다. 기간이 지난 내역도 모두 조회")
-    public ResponseEntity<ReservationInfos> getAllReservationFromMemberId(@PathVariable String userId) {
-      ReservationInfos infos = reservationService.getLastAllReservationFromMemberId(userId);
+    public ResponseEntity<ReservationInfos> getAllReservationFromMemberId(@PathVariable String userId,
+                                                                          @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+      ReservationInfos infos = reservationService.getLastAllReservationFromMemberId(userId, session);
       return ResponseEntity.ok(infos);
     }
 
+    /**
+     * 예약 내역 페이지 조회 (최근 시작한 예약부터)
+     */
+    @GetMapping("/api/reservations/{userId}/history")
+    @ApiImplicitParam(name = "userId" , value = "사용자 아이디" , required = true)
+    @QueryBudget(2)
+    @ApiOperation(value="내 예약 내역 페이지 조회" , notes = "예약 내역을 최근 순으로 페이지 단위로 조회한다. 다음 페이지는 응답의 nextStartTime, nextId를 lastStartTime, lastId로 넘긴다.")
+    public ResponseEntity<ReservationPage> getReservationHistory(@PathVariable String userId,
+                                                                 @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime lastStartTime,
+                                                                 @RequestParam(required = false) Long lastId,
+                                                                 @RequestParam(defaultValue = "20") int size,
+                                                                 @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+      ReservationPage page = reservationService.getReservationHistory(userId, session, lastStartTime, lastId, size);
+      return ResponseEntity.ok(page);
+    }
+
+    /**
+     * 모든 예약 내역을 목록을 만들지 않고 DB에서 읽는 대로 응답으로 내려준다. (/all 과 같은 형식)
+     * body는 async 쓰레드에서 쓰므로 @QueryBudget, X-Query-Count가 적용되지 않는다. (QueryBudgetAdvice 참고)
+     */
+    @GetMapping("/api/reservations/{userId}/all/stream")
+    @ApiImplicitParam(name = "userId" , value = "사용자 아이디" , required = true)
+    @ApiOperation(value="내 예약 내역 전체 조회 (스트리밍)" , notes = "기간이 지난 내역을 포함한 모든 예약 내역을 스트리밍으로 조회한다.")
+    public ResponseEntity<StreamingResponseBody> streamReservationHistory(@PathVariable String userId,
+                                                                          @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+      StreamingResponseBody body = reservationService.streamReservationHistory(userId, session);
+      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * 실습실 예약 반납 혹은 취소, 즉 해당 예약 내역을 DB로부터 삭제한다.
      */
@@ -3,16 +3,21 @@ package lab.reservation_server.controller;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import java.util.List;
 import javax.validation.Valid;
+import lab.reservation_server.auth.SessionMember;
+import lab.reservation_server.dto.request.token.BulkTokenRequest;
 import lab.reservation_server.dto.request.token.ExpireDate;
 import lab.reservation_server.dto.request.member.TokenCheckDto;
 import lab.reservation_server.dto.response.token.MemberIsAuth;
 import lab.reservation_server.dto.response.token.TokenValue;
+import lab.reservation_server.dto.response.token.TokenValues;
 import lab.reservation_server.service.TokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -26,18 +31,31 @@ public class TokenController {
 
     /**
      * 조교로 부터 만료 날짜를 받는다.
-     * 토큰을 UUID 형식으로 발급하여 DB에 저장
+     * 토큰을 6자리 값으로 발급하여 DB에 저장
      */
     @PostMapping("/api/token")
     @ApiOperation(value="토큰 발급" , notes = "유효기간이 존재하는 토큰을 받을 수 있다.")
-    public ResponseEntity<TokenValue> createToken(@RequestBody @Valid ExpireDate expirationDate) {
+    public ResponseEntity<TokenValue> createToken(@RequestBody @Valid ExpireDate expirationDate,
+                                                  @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
 
-      String token = tokenService.createToken(expirationDate);
+      String token = tokenService.createToken(expirationDate, session);
       TokenValue tokenValue = new TokenValue(token);
 
       return ResponseEntity.ok(tokenValue);
     }
 
+    /**
+     * 한 분반의 학생 수 만큼 토큰을 한번에 발급
+     */
+    @PostMapping("/api/token/bulk")
+    @ApiOperation(value="토큰 일괄 발급" , notes = "유효기간이 존재하는 토큰을 최대 500개까지 한번에 받을 수 있다.")
+    public ResponseEntity<TokenValues> createTokens(@RequestBody @Valid BulkTokenRequest bulkTokenRequest,
+                                                    @RequestAttribute(name = SessionMember.ATTRIBUTE, required = false) SessionMember session) {
+      List<String> tokens = tokenService.createTokens(new ExpireDate(bulkTokenRequest.getExpireDate()),
+          bulkTokenRequest.getCount(), session);
+      return ResponseEntity.ok(new TokenValues(tokens));
+    }
+
     /**
      * 토큰 인증을 통해 사용자 인증
      */
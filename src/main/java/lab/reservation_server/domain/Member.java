@@ -2,7 +2,6 @@ package lab.reservation_server.domain;
 
 import java.util.ArrayList;
 import java.util.List;
-import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -11,8 +10,10 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
 import javax.persistence.PrePersist;
+import javax.persistence.Table;
 import lab.reservation_server.domain.enums.Role;
 import lab.reservation_server.dto.request.member.MemberUpdate;
 import lombok.Builder;
@@ -21,6 +22,7 @@ import lombok.NoArgsConstructor;
 
 
 @Entity
+@Table(indexes = @Index(name = "idx_member_modified_date", columnList = "modified_date"))
 @Getter
 @NoArgsConstructor
 public class Member extends BaseTime {
@@ -36,8 +38,9 @@ public class Member extends BaseTime {
      * 학생이 예약한 내역
      * 2022-10-08 해당 요일에 오전, 오후에 예약하고 사용한 내역을 DB에 저장하고 있기 때문에
      * OneToOne -> OneToMany로 변경
+     * 회원 삭제 시 예약 내역은 MemberServiceImpl에서 bulk delete로 먼저 지운다. (cascade로 한건씩 지우지 않음)
      */
-    @OneToMany(mappedBy = "member", fetch = FetchType.LAZY , cascade = CascadeType.REMOVE)
+    @OneToMany(mappedBy = "member", fetch = FetchType.LAZY)
     private List<Reservation> reservations = new ArrayList<>();
 
     /**
@@ -88,10 +91,10 @@ public class Member extends BaseTime {
     private String deviceToken;
 
     /**
-     * 학생 인증 여부
+     * 학생이 마지막으로 토큰 인증을 한 학기 (ex. 20231, 20232)
+     * 인증 여부는 현재 학기와 비교해서 조회 시점에 계산한다. -> getIsAuth()
      */
-    @Column(nullable = false)
-    private Boolean isAuth;
+    private Integer authSemester;
 
     /**
      * 학생의 경고 누적
@@ -100,14 +103,22 @@ public class Member extends BaseTime {
     @Column(nullable = false)
     private Integer warningCount;
 
+    /**
+     * 세션 토큰 버전, 권한이나 비밀번호가 바뀌면 1 증가시켜서 이전에 발급한 세션 토큰을 더 이상 받지 않는다.
+     * 기존 회원 행과 JDBC 일괄 등록을 위해 DB 기본값을 0으로 둔다.
+     */
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private Integer tokenVersion;
+
     @PrePersist
     public void prePersist() {
         this.major = "컴퓨터소프트웨어공학과";
         this.warningCount = 0;
+        this.tokenVersion = 0;
     }
 
     @Builder
-    public Member(String userId, String password, String name, String email, String phoneNum, Role role, String deviceToken, Boolean isAuth) {
+    public Member(String userId, String password, String name, String email, String phoneNum, Role role, String deviceToken, Integer authSemester) {
         this.userId = userId;
         this.password = password;
         this.name = name;
@@ -115,14 +126,42 @@ public class Member extends BaseTime {
         this.phoneNum = phoneNum;
         this.role = role;
         this.deviceToken = deviceToken;
-        this.isAuth = isAuth;
+        this.authSemester = authSemester;
     }
 
     /**
-     * 토큰 인증이 완료되면 isAuth 필드 true로 변경
+     * 학생 인증 여부, 이번 학기에 인증한 경우에만 true
+     */
+    public Boolean getIsAuth() {
+        return Semester.isAuthenticated(role, authSemester);
+    }
+
+    /**
+     * 인증 여부를 직접 변경하는 경우 (조교의 회원 정보 수정)
+     * true면 이번 학기에 인증한 것으로 저장한다.
      */
     public void updateAuth(boolean isAuth) {
-        this.isAuth = isAuth;
+        if (isAuth != getIsAuth()) {
+            this.authSemester = isAuth ? Semester.current() : null;
+        }
+    }
+
+    /**
+     * 전화번호는 '-' 없이 저장한다. 가입, 수정, 일괄 등록 모두 이 값으로 중복 확인(filter, IN 조회) 및 저장을 한다.
+     */
+    public static String normalizePhoneNum(String phoneNum) {
+        return phoneNum == null ? null : phoneNum.trim().replace("-", "");
+    }
+
+    /**
+     * 이전에 발급한 세션 토큰을 모두 무효로 만든다.
+     */
+    public void revokeSessionTokens() {
+        this.tokenVersion++;
+    }
+
+    public void updatePassword(String password) {
+        this.password = password;
     }
 
     public void updateDeviceToken(String deviceToken) {
@@ -134,22 +173,11 @@ public class Member extends BaseTime {
         this.email = memberUpdate.getEmail();
         this.phoneNum = memberUpdate.getPhoneNum();
         this.name = memberUpdate.getName();
-        this.isAuth = memberUpdate.getIsAuth();
         this.password = memberUpdate.getPassword();
         this.role = Role.valueOf(memberUpdate.getRole());
+        updateAuth(Boolean.TRUE.equals(memberUpdate.getIsAuth()));
         this.deviceToken = memberUpdate.getDeviceToken();
         this.userId = memberUpdate.getUserId();
     }
 
-    public void warning() {
-        this.warningCount++;
-    }
-
-    public void resetWarning() {
-        this.warningCount = 0;
-    }
-
-    public void updateIsAuthFalse() {
-        this.isAuth = false;
-    }
 }
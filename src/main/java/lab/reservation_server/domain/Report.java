@@ -7,7 +7,9 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.PrePersist;
+import javax.persistence.Table;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,6 +18,10 @@ import lombok.NoArgsConstructor;
  * 문의 신고
  */
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_report_create_date", columnList = "create_date, id"),
+    @Index(name = "idx_report_user_id", columnList = "user_id, create_date, id")
+})
 @Getter
 @NoArgsConstructor
 public class Report {
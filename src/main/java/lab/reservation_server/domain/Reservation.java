@@ -8,9 +8,11 @@ import javax.persistence.ForeignKey;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToOne;
+import javax.persistence.Table;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,6 +20,10 @@ import lombok.NoArgsConstructor;
 
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_reservation_member_start", columnList = "member_id, start_time, id"),
+    @Index(name = "idx_reservation_lab_start", columnList = "lab_id, start_time")
+})
 @Getter
 @NoArgsConstructor
 public class Reservation extends BaseTime {
@@ -73,6 +79,13 @@ public class Reservation extends BaseTime {
     @Column(nullable = false)
     private Boolean permission;
 
+    /**
+     * 연장 알림을 보낸 연장 가능 시간
+     * 여러 서버의 타이머가 같은 예약의 연장 알림을 보내지 않도록, 먼저 이 값을 바꾼 서버만 알림을 보낸다.
+     * 연장하면 extensionTime이 바뀌므로 새 연장 가능 시간에 다시 알림을 보낼 수 있다.
+     */
+    private LocalDateTime remindedExtensionTime;
+
 
     @Builder
     public Reservation(Member member, Lab lab, String seatNum, LocalDateTime startTime, LocalDateTime endTime, LocalDateTime extensionTime, Boolean permission) {
@@ -0,0 +1,39 @@
+package lab.reservation_server.domain;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 여러 서버가 같은 스케줄 작업을 동시에 실행하지 않도록 작업마다 하나씩 두는 lease
+ * 만료 시간이 지나기 전까지는 owner 서버만 해당 작업을 실행할 수 있다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLease {
+
+    /**
+     * 스케줄 작업 이름
+     */
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    /**
+     * lease를 가지고 있는 서버
+     */
+    @Column(nullable = false, length = 128)
+    private String owner;
+
+    /**
+     * lease 만료 시간
+     */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,45 @@
+package lab.reservation_server.domain;
+
+import java.time.LocalDate;
+import lab.reservation_server.domain.enums.Role;
+
+/**
+ * 학기 id 계산
+ * 1학기 : 3월 ~ 8월 -> yyyy1
+ * 2학기 : 9월 ~ 다음해 2월 -> yyyy2 (1, 2월은 전년도 2학기)
+ *
+ * 회원의 인증 여부는 마지막으로 토큰 인증을 한 학기(authSemester)를 현재 학기와 비교해서 판단한다.
+ * 학기가 바뀌어도 DB를 수정할 필요가 없다.
+ */
+public final class Semester {
+
+    private Semester() {
+    }
+
+    public static int current() {
+        return of(LocalDate.now());
+    }
+
+    public static int of(LocalDate date) {
+        int month = date.getMonthValue();
+        if (month >= 3 && month <= 8) {
+            return date.getYear() * 10 + 1;
+        }
+        int year = month <= 2 ? date.getYear() - 1 : date.getYear();
+        return year * 10 + 2;
+    }
+
+    /**
+     * 학생 권한은 이번 학기에 인증한 경우에만 인증된 것으로 보고,
+     * 조교, 교수 권한은 한번 인증하면 학기와 관계없이 유지된다. (기존 학기 초기화 대상에서 제외되던 것과 동일)
+     */
+    public static boolean isAuthenticated(Role role, Integer authSemester) {
+        if (authSemester == null) {
+            return false;
+        }
+        if (role == Role.ADMIN || role == Role.PROF) {
+            return true;
+        }
+        return authSemester == current();
+    }
+}
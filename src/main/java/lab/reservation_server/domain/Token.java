@@ -1,18 +1,20 @@
 package lab.reservation_server.domain;
 
 import java.time.LocalDate;
-import java.util.UUID;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(indexes = @Index(name = "idx_token_expiration", columnList = "expiration"))
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,10 +28,10 @@ public class Token {
     private Long id;
 
     /**
-     * 토큰 UUID, 6자리
+     * 토큰 값, 6자리 16진수 (TokenValueGenerator로 발급)
      */
     @Column(unique = true, nullable = false)
-    private String value = UUID.randomUUID().toString().substring(0, 6);
+    private String value;
 
     /**
      * 토큰의 유효기간
@@ -38,7 +40,8 @@ public class Token {
     private LocalDate expiration;
 
     @Builder
-    public Token(LocalDate expiration) {
+    public Token(String value, LocalDate expiration) {
+        this.value = value;
         this.expiration = expiration;
     }
 
@@ -0,0 +1,49 @@
+package lab.reservation_server.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 토큰 값 발급용 카운터, 행은 id = 1 하나만 존재한다.
+ * 서버마다 카운터 구간을 나눠 받아서 쓰고(allocate), 카운터 값은 permutationKey로 섞어서 토큰 값으로 만든다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+public class TokenSequence {
+
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id;
+
+    /**
+     * 다음에 나눠줄 카운터 시작 값
+     */
+    @Column(nullable = false)
+    private Long nextValue;
+
+    /**
+     * 카운터를 토큰 값으로 섞을 때 사용하는 키, 처음 생성할 때 한번만 정한다.
+     */
+    @Column(nullable = false)
+    private Long permutationKey;
+
+    public TokenSequence(Long permutationKey) {
+        this.id = ID;
+        this.nextValue = 0L;
+        this.permutationKey = permutationKey;
+    }
+
+    /**
+     * size개의 카운터 구간을 가져가고 시작 값을 반환
+     */
+    public long allocate(int size) {
+        long start = nextValue;
+        nextValue += size;
+        return start;
+    }
+}
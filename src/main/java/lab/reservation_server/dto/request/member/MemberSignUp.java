@@ -47,15 +47,18 @@ public class MemberSignUp {
     private String role;
 
 
+    public String getPhoneNum() {
+        return Member.normalizePhoneNum(phoneNum);
+    }
+
     public Member toEntity(MemberSignUp memberSignUp) {
         return Member.builder()
                 .userId(userId)
                 .password(password)
                 .name(name)
                 .email(email)
-                .phoneNum(phoneNum)
+                .phoneNum(getPhoneNum())
                 .role(Role.valueOf(role))
-                .isAuth(false)
                 .build();
     }
 }
@@ -56,6 +56,10 @@ public class MemberUpdate {
     @ApiModelProperty(value = "사용자의 학과")
     private String major;
 
+    public String getPhoneNum() {
+        return Member.normalizePhoneNum(phoneNum);
+    }
+
     public MemberUpdate (Member member){
         this.id = member.getId();
         this.deviceToken = member.getDeviceToken();
@@ -0,0 +1,21 @@
+package lab.reservation_server.dto.request.member;
+
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 여러 학생에게 한번에 경고를 부여하거나 초기화하기 위한 요청 객체
+ */
+@Getter
+@NoArgsConstructor
+public class WarningRequest {
+
+    @NotEmpty(message = "경고를 처리할 학번을 입력해주세요")
+    @Size(max = 1000, message = "한번에 1000명까지 처리할 수 있습니다.")
+    @ApiModelProperty(value = "경고를 처리할 학번 목록")
+    private List<String> userIds;
+}
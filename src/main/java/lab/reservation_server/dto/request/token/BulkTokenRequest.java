@@ -0,0 +1,26 @@
+package lab.reservation_server.dto.request.token;
+
+import io.swagger.annotations.ApiModelProperty;
+import java.time.LocalDate;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 한 분반의 학생 수 만큼 토큰을 한번에 발급하기 위한 요청 객체
+ */
+@Getter
+@NoArgsConstructor
+public class BulkTokenRequest {
+
+  @NotNull(message = "만료일을 반드시 입력해주세요")
+  @ApiModelProperty(value = "토큰 유효 기간 , yy--mm--dd 형식으로 입력해주세요")
+  private LocalDate expireDate;
+
+  @Min(value = 1, message = "1개 이상 발급해야 합니다.")
+  @Max(value = 500, message = "한번에 500개까지 발급할 수 있습니다.")
+  @ApiModelProperty(value = "발급할 토큰 개수 (최대 500)")
+  private int count;
+}
@@ -3,11 +3,13 @@ package lab.reservation_server.dto.request.token;
 import io.swagger.annotations.ApiModelProperty;
 import java.time.LocalDate;
 import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Getter
 @NoArgsConstructor
+@AllArgsConstructor
 public class ExpireDate {
 
   @NotNull(message = "만료일을 반드시 입력해주세요")
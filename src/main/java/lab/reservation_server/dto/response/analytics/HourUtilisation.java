@@ -0,0 +1,16 @@
+package lab.reservation_server.dto.response.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 한 시간대(hour ~ hour + 1시)의 좌석 이용률
+ */
+@Getter
+@AllArgsConstructor
+public class HourUtilisation {
+
+    private int hour;
+
+    private double utilisation;
+}
@@ -0,0 +1,23 @@
+package lab.reservation_server.dto.response.analytics;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 강의실 좌석 이용률, 승인된 예약의 좌석 이용 시간(분) / (수용 인원 * 기간의 총 시간(분))
+ */
+@Getter
+@AllArgsConstructor
+public class LabUtilisation {
+
+    private String roomNumber;
+
+    private long reservations;
+
+    private long reservedMinutes;
+
+    private double utilisation;
+
+    private List<HourUtilisation> hours;
+}
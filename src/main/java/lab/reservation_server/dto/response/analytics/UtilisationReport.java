@@ -0,0 +1,22 @@
+package lab.reservation_server.dto.response.analytics;
+
+import java.time.YearMonth;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * from ~ to 달의 강의실별 좌석 이용률, 분석 파일이 있는 달(months)만 집계한다.
+ */
+@Getter
+@AllArgsConstructor
+public class UtilisationReport {
+
+    private YearMonth from;
+
+    private YearMonth to;
+
+    private List<YearMonth> months;
+
+    private List<LabUtilisation> labs;
+}
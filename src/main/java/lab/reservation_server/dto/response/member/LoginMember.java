@@ -0,0 +1,66 @@
+package lab.reservation_server.dto.response.member;
+
+import java.time.LocalDateTime;
+import lab.reservation_server.domain.Semester;
+import lab.reservation_server.domain.enums.Role;
+import lab.reservation_server.dto.response.reservation.ReservationInfo;
+import lombok.Getter;
+
+/**
+ * 로그인 시 회원 정보와 가장 가까운 예약 한건을 한번의 쿼리로 가져오기 위한 projection
+ * 회원도 엔티티가 아닌 컬럼 값으로 받아서 select new 안의 엔티티를 다시 조회하는 쿼리가 나가지 않는다.
+ * 예약이 없으면 reservation은 null
+ */
+@Getter
+public class LoginMember {
+
+    private final Long id;
+
+    private final String userId;
+
+    private final String password;
+
+    private final String name;
+
+    private final String email;
+
+    private final String major;
+
+    private final String phoneNum;
+
+    private final Role role;
+
+    private final String deviceToken;
+
+    private final Integer authSemester;
+
+    private final Integer warningCount;
+
+    private final Integer tokenVersion;
+
+    private final ReservationInfo reservation;
+
+    public LoginMember(Long id, String userId, String password, String name, String email, String major,
+                       String phoneNum, Role role, String deviceToken, Integer authSemester, Integer warningCount,
+                       Integer tokenVersion, Long reservationId, String roomNumber, String seatNum, LocalDateTime startTime,
+                       LocalDateTime endTime, LocalDateTime extensionTime, Boolean permission) {
+        this.id = id;
+        this.userId = userId;
+        this.password = password;
+        this.name = name;
+        this.email = email;
+        this.major = major;
+        this.phoneNum = phoneNum;
+        this.role = role;
+        this.deviceToken = deviceToken;
+        this.authSemester = authSemester;
+        this.warningCount = warningCount;
+        this.tokenVersion = tokenVersion;
+        this.reservation = reservationId == null ? null
+            : new ReservationInfo(reservationId, roomNumber, seatNum, startTime, endTime, extensionTime, permission);
+    }
+
+    public Boolean getIsAuth() {
+        return Semester.isAuthenticated(role, authSemester);
+    }
+}
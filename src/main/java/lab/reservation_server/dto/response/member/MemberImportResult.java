@@ -0,0 +1,39 @@
+package lab.reservation_server.dto.response.member;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import lab.reservation_server.dto.response.member.MemberImportRow.Status;
+import lombok.Getter;
+
+/**
+ * 회원 일괄 등록 결과, 등록된 인원 수와 행별 결과를 반환한다.
+ */
+@Getter
+public class MemberImportResult {
+
+    private int total;
+
+    private int created;
+
+    private int failed;
+
+    private final List<MemberImportRow> rows = new ArrayList<>();
+
+    public void add(MemberImportRow row) {
+        rows.add(row);
+        total++;
+        if (row.getStatus() == Status.CREATED) {
+            created++;
+        } else {
+            failed++;
+        }
+    }
+
+    /**
+     * 500명 단위로 처리하면서 행 순서가 섞이므로 마지막에 줄 번호 순으로 정렬
+     */
+    public void sortByLine() {
+        rows.sort(Comparator.comparingInt(MemberImportRow::getLine));
+    }
+}
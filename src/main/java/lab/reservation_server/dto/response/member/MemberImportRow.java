@@ -0,0 +1,30 @@
+package lab.reservation_server.dto.response.member;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 회원 일괄 등록 결과 한 행
+ */
+@Getter
+@AllArgsConstructor
+public class MemberImportRow {
+
+    /**
+     * CSV 파일의 줄 번호 (1부터 시작)
+     */
+    private int line;
+
+    private String userId;
+
+    private Status status;
+
+    private String message;
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        DUPLICATE,
+        DUPLICATE_IN_FILE
+    }
+}
@@ -1,6 +1,5 @@
 package lab.reservation_server.dto.response.member;
 
-import lab.reservation_server.domain.Member;
 import lab.reservation_server.dto.response.reservation.ReservationInfo;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -33,18 +32,24 @@ public class MemberInfo {
 
     private Boolean isAuth;
 
-    public MemberInfo(Member saved, ReservationInfo reservationInfo) {
-      this.id = saved.getId();
-      this.reservation = reservationInfo;
-      this.userId = saved.getUserId();
-      this.password = saved.getPassword();
-      this.name = saved.getName();
-      this.major = saved.getMajor();
-      this.email = saved.getEmail();
-      this.phoneNum = saved.getPhoneNum();
-      this.role = saved.getRole().getAuthority();
-      this.deviceToken = saved.getDeviceToken();
-      this.isAuth = saved.getIsAuth();
-      this.warningCount = saved.getWarningCount();
+    /**
+     * 이후 요청의 Authorization 헤더에 넣어서 보내는 서명된 세션 토큰
+     */
+    private String sessionToken;
+
+    public MemberInfo(LoginMember loginMember, String password, String deviceToken, String sessionToken) {
+      this.id = loginMember.getId();
+      this.reservation = loginMember.getReservation();
+      this.userId = loginMember.getUserId();
+      this.password = password;
+      this.name = loginMember.getName();
+      this.major = loginMember.getMajor();
+      this.email = loginMember.getEmail();
+      this.phoneNum = loginMember.getPhoneNum();
+      this.role = loginMember.getRole().getAuthority();
+      this.deviceToken = deviceToken;
+      this.isAuth = loginMember.getIsAuth();
+      this.warningCount = loginMember.getWarningCount();
+      this.sessionToken = sessionToken;
     }
 }
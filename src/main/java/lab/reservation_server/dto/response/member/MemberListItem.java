@@ -0,0 +1,44 @@
+package lab.reservation_server.dto.response.member;
+
+import lab.reservation_server.domain.Semester;
+import lab.reservation_server.domain.enums.Role;
+import lombok.Getter;
+
+/**
+ * 조교 화면의 회원 목록 한 행
+ * JPQL에서 필요한 컬럼만 바로 조회한다. (비밀번호, 디바이스 토큰 제외)
+ */
+@Getter
+public class MemberListItem {
+
+    private final Long id;
+
+    private final String userId;
+
+    private final String name;
+
+    private final String major;
+
+    private final String email;
+
+    private final String phoneNum;
+
+    private final String role;
+
+    private final Integer warningCount;
+
+    private final Boolean isAuth;
+
+    public MemberListItem(Long id, String userId, String name, String major, String email, String phoneNum,
+                          Role role, Integer warningCount, Integer authSemester) {
+        this.id = id;
+        this.userId = userId;
+        this.name = name;
+        this.major = major;
+        this.email = email;
+        this.phoneNum = phoneNum;
+        this.role = role.getAuthority();
+        this.warningCount = warningCount;
+        this.isAuth = Semester.isAuthenticated(role, authSemester);
+    }
+}
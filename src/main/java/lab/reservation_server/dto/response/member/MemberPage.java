@@ -0,0 +1,18 @@
+package lab.reservation_server.dto.response.member;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 회원 목록 한 페이지
+ * 다음 페이지는 nextId를 lastId로 넘겨서 조회한다. 마지막 페이지면 nextId는 null
+ */
+@Getter
+@AllArgsConstructor
+public class MemberPage {
+
+    private List<MemberListItem> members;
+
+    private Long nextId;
+}
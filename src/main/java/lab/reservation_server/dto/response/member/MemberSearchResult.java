@@ -0,0 +1,43 @@
+package lab.reservation_server.dto.response.member;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lab.reservation_server.domain.Member;
+import lab.reservation_server.domain.enums.Role;
+import lombok.Getter;
+
+/**
+ * 회원 검색(자동완성) 결과 한건
+ */
+@Getter
+public class MemberSearchResult {
+
+    private final Long id;
+
+    private final String userId;
+
+    private final String name;
+
+    private final String major;
+
+    /**
+     * 전화번호 앞부분 검색에만 사용하고 응답에는 내보내지 않는다.
+     */
+    @JsonIgnore
+    private final String phoneNum;
+
+    private final String role;
+
+    public MemberSearchResult(Long id, String userId, String name, String major, String phoneNum, Role role) {
+        this.id = id;
+        this.userId = userId;
+        this.name = name;
+        this.major = major;
+        this.phoneNum = phoneNum;
+        this.role = role.getAuthority();
+    }
+
+    public MemberSearchResult(Member member) {
+        this(member.getId(), member.getUserId(), member.getName(), member.getMajor(), member.getPhoneNum(),
+            member.getRole());
+    }
+}
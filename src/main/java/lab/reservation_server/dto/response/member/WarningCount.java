@@ -0,0 +1,16 @@
+package lab.reservation_server.dto.response.member;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 경고 처리 후 학생별 경고 누적 횟수
+ */
+@Getter
+@AllArgsConstructor
+public class WarningCount {
+
+    private String userId;
+
+    private Integer warningCount;
+}
@@ -0,0 +1,17 @@
+package lab.reservation_server.dto.response.member;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 일괄 경고 처리 결과, 존재하지 않는 학번은 notFound로 반환
+ */
+@Getter
+@AllArgsConstructor
+public class WarningCounts {
+
+    private List<WarningCount> members;
+
+    private List<String> notFound;
+}
@@ -0,0 +1,21 @@
+package lab.reservation_server.dto.response.report;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 문의 및 신고 목록 한 페이지 (최신순)
+ * 다음 페이지는 nextCreateDate, nextId를 lastCreateDate, lastId로 넘겨서 조회한다. 마지막 페이지면 둘 다 null
+ */
+@Getter
+@AllArgsConstructor
+public class ReportPage {
+
+    private List<ReportSummary> reports;
+
+    private LocalDateTime nextCreateDate;
+
+    private Long nextId;
+}
@@ -0,0 +1,20 @@
+package lab.reservation_server.dto.response.report;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 문의 및 신고 목록용 response dto, 내용(content)은 상세 조회에서만 반환한다.
+ */
+@Getter
+@AllArgsConstructor
+public class ReportSummary {
+
+    private Long id;
+    private String title;
+    private String writerName;
+    private String userId;
+    private LocalDateTime createDate;
+
+}
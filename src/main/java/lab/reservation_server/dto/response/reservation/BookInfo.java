@@ -1,5 +1,6 @@
 package lab.reservation_server.dto.response.reservation;
 
+import java.time.LocalDateTime;
 import lab.reservation_server.domain.Lab;
 import lab.reservation_server.domain.Member;
 import lab.reservation_server.domain.Reservation;
@@ -33,6 +34,23 @@ public class BookInfo {
 
     private Boolean permission;
 
+    /**
+     * 조회 쿼리에서 entity 없이 바로 만드는 생성자 (select new ...BookInfo(...))
+     */
+    public BookInfo(Long id, String name, String userId, String major, String roomNumber, String seatNum,
+                    LocalDateTime startTime, LocalDateTime endTime, LocalDateTime extensionTime, Boolean permission) {
+        this.id = id;
+        this.name = name;
+        this.userId = userId;
+        this.major = major;
+        this.roomNumber = roomNumber;
+        this.seatNum = seatNum;
+        this.startTime = format(startTime);
+        this.endTime = format(endTime);
+        this.extensionTime = format(extensionTime);
+        this.permission = permission;
+    }
+
     public BookInfo(Reservation reservation, Lab lab , Member member){
         this.id = reservation.getId();
         this.name = member.getName();
@@ -40,9 +58,25 @@ public class BookInfo {
         this.major = member.getMajor();
         this.roomNumber = lab.getRoomNumber();
         this.seatNum = reservation.getSeatNum();
-        this.startTime = reservation.getStartTime().toString();
-        this.endTime = reservation.getEndTime().toString();
-        this.extensionTime = reservation.getExtensionTime().toString();
+        this.startTime = format(reservation.getStartTime());
+        this.endTime = format(reservation.getEndTime());
+        this.extensionTime = format(reservation.getExtensionTime());
+        this.permission = reservation.getPermission();
+    }
+
+    /**
+     * 회원 entity 없이 예약자 정보만으로 만드는 생성자 (예약 완료 응답, 세션이나 회원 캐시의 값을 사용)
+     */
+    public BookInfo(Reservation reservation, Lab lab, String name, String userId, String major) {
+        this.id = reservation.getId();
+        this.name = name;
+        this.userId = userId;
+        this.major = major;
+        this.roomNumber = lab.getRoomNumber();
+        this.seatNum = reservation.getSeatNum();
+        this.startTime = format(reservation.getStartTime());
+        this.endTime = format(reservation.getEndTime());
+        this.extensionTime = format(reservation.getExtensionTime());
         this.permission = reservation.getPermission();
     }
 
@@ -53,9 +87,9 @@ public class BookInfo {
         this.major = member.getMajor();
         this.roomNumber = reservation.getLab().getRoomNumber();
         this.seatNum = reservation.getSeatNum();
-        this.startTime = reservation.getStartTime().toString();
-        this.endTime = reservation.getEndTime().toString();
-        this.extensionTime = reservation.getExtensionTime().toString();
+        this.startTime = format(reservation.getStartTime());
+        this.endTime = format(reservation.getEndTime());
+        this.extensionTime = format(reservation.getExtensionTime());
         this.permission = reservation.getPermission();
     }
 
@@ -66,9 +100,18 @@ public class BookInfo {
         this.major = reservation.getMember().getMajor();
         this.roomNumber = reservation.getLab().getRoomNumber();
         this.seatNum = reservation.getSeatNum();
-        this.startTime = reservation.getStartTime().toString();
-        this.endTime = reservation.getEndTime().toString();
-        this.extensionTime = reservation.getExtensionTime().toString();
+        this.startTime = format(reservation.getStartTime());
+        this.endTime = format(reservation.getEndTime());
+        this.extensionTime = format(reservation.getExtensionTime());
         this.permission = reservation.getPermission();
     }
+
+    /**
+     * 시간 필드는 API에서 문자열로 내려주고 클라이언트가 LocalDateTime.toString 형식(초가 0이면 생략)으로 파싱한다.
+     * 고정된 DateTimeFormatter로 바꾸면 응답 형식이 달라지므로 toString을 그대로 사용한다.
+     * (LocalDateTime.toString은 내부에서 StringBuilder로 바로 만들기 때문에 formatter보다 가볍다)
+     */
+    private static String format(LocalDateTime time) {
+        return time.toString();
+    }
 }
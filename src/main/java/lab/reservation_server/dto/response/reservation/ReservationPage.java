@@ -0,0 +1,20 @@
+package lab.reservation_server.dto.response.reservation;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 예약 내역 한 페이지 (최근 시작한 예약부터)
+ * 다음 페이지는 nextStartTime, nextId를 lastStartTime, lastId로 넘겨서 조회한다. 마지막 페이지면 둘 다 null
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationPage {
+
+    private List<BookInfo> reservations;
+
+    private String nextStartTime;
+
+    private Long nextId;
+}
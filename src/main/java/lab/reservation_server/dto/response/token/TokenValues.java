@@ -0,0 +1,12 @@
+package lab.reservation_server.dto.response.token;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TokenValues {
+
+  private List<String> tokens;
+}
@@ -0,0 +1,19 @@
+package lab.reservation_server.exception;
+
+public class ForbiddenException extends RuntimeException {
+
+    public ForbiddenException() {
+    }
+
+    public ForbiddenException(String message) {
+      super(message);
+    }
+
+    public ForbiddenException(String message, Throwable cause) {
+      super(message, cause);
+    }
+
+    public ForbiddenException(Throwable cause) {
+      super(cause);
+    }
+}
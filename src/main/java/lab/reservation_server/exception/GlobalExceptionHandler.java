@@ -4,6 +4,7 @@ import javax.validation.ConstraintViolationException;
 import lab.reservation_server.dto.response.DefaultMessageResponse;
 import lab.reservation_server.dto.response.reservation.CurrentReservation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -62,6 +63,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    /**
+     * DataIntegrityViolationException 미리 확인하지 못한 unique 제약 조건 위반 (다른 서버에서 동시에 같은 값을 저장한 경우 등)
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<DefaultMessageResponse> handle(DataIntegrityViolationException ex) {
+
+        DefaultMessageResponse response = DefaultMessageResponse.of("이미 존재하거나 다른 데이터와 충돌하는 값입니다.");
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     /**
      * HttpMessageNotReadableException
      */
@@ -121,4 +133,37 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * UnauthorizedException 세션 토큰 없이 로그인이 필요한 요청을 한 경우
+     */
+    @ExceptionHandler(UnauthorizedException.class)
+    public ResponseEntity<DefaultMessageResponse> handle(UnauthorizedException ex) {
+
+        DefaultMessageResponse response = DefaultMessageResponse.of(ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+    }
+
+    /**
+     * ForbiddenException 세션 사용자에게 권한이 없는 경우
+     */
+    @ExceptionHandler(ForbiddenException.class)
+    public ResponseEntity<DefaultMessageResponse> handle(ForbiddenException ex) {
+
+        DefaultMessageResponse response = DefaultMessageResponse.of(ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+    }
+
+    /**
+     * ServiceUnavailableException 요청이 몰려 처리 대기열이 가득 찬 경우
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<DefaultMessageResponse> handle(ServiceUnavailableException ex) {
+
+        DefaultMessageResponse response = DefaultMessageResponse.of(ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package lab.reservation_server.exception;
+
+public class UnauthorizedException extends RuntimeException {
+
+    public UnauthorizedException() {
+    }
+
+    public UnauthorizedException(String message) {
+      super(message);
+    }
+
+    public UnauthorizedException(String message, Throwable cause) {
+      super(message, cause);
+    }
+
+    public UnauthorizedException(Throwable cause) {
+      super(cause);
+    }
+}
@@ -0,0 +1,109 @@
+package lab.reservation_server.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lab.reservation_server.exception.AlreadyBookedException;
+import lab.reservation_server.exception.BadRequestException;
+import lab.reservation_server.exception.FullOfCapacityException;
+import lab.reservation_server.exception.LecturePresentException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 좌석 예약(doReservation) 단계별 소요 시간 측정
+ *
+ * 예약 한건의 단계(member, lab, lecture, capacity, duplicate, seat, room, save, schedule) 시간을 모아두었다가
+ * 결과가 정해지면 한번에 기록한다. 그래야 결과(outcome) tag를 붙여서 어느 단계가 느린지, 어떤 결과에서 느린지 나눠 볼 수 있다.
+ *
+ * booking.stage{stage, lab, outcome} : 단계별 소요 시간
+ * booking.request{lab, outcome} : 예약 요청 전체 소요 시간
+ * outcome : booked, conflict(이미 예약된 좌석, 중복 예약), full(좌석 부족), lecture(수업 중), rejected(그 외 잘못된 요청), error
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingMetrics {
+
+    public static final String STAGE_TIMER = "booking.stage";
+    public static final String REQUEST_TIMER = "booking.request";
+
+    private static final String UNKNOWN_LAB = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    public Trace start() {
+        return new Trace();
+    }
+
+    /**
+     * 예외로 예약 결과 분류
+     */
+    public static String outcomeOf(RuntimeException e) {
+        if (e instanceof AlreadyBookedException) {
+            return "conflict";
+        }
+        if (e instanceof FullOfCapacityException) {
+            return "full";
+        }
+        if (e instanceof LecturePresentException) {
+            return "lecture";
+        }
+        if (e instanceof BadRequestException) {
+            return "rejected";
+        }
+        return "error";
+    }
+
+    /**
+     * 예약 요청 한건의 단계별 시간, 요청 쓰레드 안에서만 사용한다.
+     */
+    public class Trace {
+
+        private final long startedAt = System.nanoTime();
+        private final Map<String, Long> stages = new LinkedHashMap<>();
+        private String lab = UNKNOWN_LAB;
+
+        public <T> T time(String stage, Supplier<T> action) {
+            long start = System.nanoTime();
+            try {
+                return action.get();
+            } finally {
+                stages.merge(stage, System.nanoTime() - start, Long::sum);
+            }
+        }
+
+        public void run(String stage, Runnable action) {
+            time(stage, () -> {
+                action.run();
+                return null;
+            });
+        }
+
+        /**
+         * 강의실 조회가 끝난 뒤 호출, 존재하는 강의실 번호만 tag로 사용한다.
+         */
+        public void lab(String roomNumber) {
+            this.lab = roomNumber;
+        }
+
+        public void finish(String outcome) {
+            stages.forEach((stage, nanos) -> Timer.builder(STAGE_TIMER)
+                .description("좌석 예약 단계별 소요 시간")
+                .tag("stage", stage)
+                .tag("lab", lab)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS));
+
+            Timer.builder(REQUEST_TIMER)
+                .description("좌석 예약 요청 소요 시간")
+                .tag("lab", lab)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
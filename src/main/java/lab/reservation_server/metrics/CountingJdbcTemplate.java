@@ -0,0 +1,24 @@
+package lab.reservation_server.metrics;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 만드는 SQL 문마다 QueryCounter를 올리는 JdbcTemplate
+ * query, update, batchUpdate 모두 Statement를 만든 직후 applyStatementSettings를 거치므로 여기서 센다.
+ * (batchUpdate는 행 수와 상관없이 한번으로 센다)
+ */
+public class CountingJdbcTemplate extends JdbcTemplate {
+
+    public CountingJdbcTemplate(DataSource dataSource) {
+        super(dataSource);
+    }
+
+    @Override
+    protected void applyStatementSettings(Statement stmt) throws SQLException {
+        QueryCounter.increment();
+        super.applyStatementSettings(stmt);
+    }
+}
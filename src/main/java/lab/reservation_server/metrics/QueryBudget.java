@@ -0,0 +1,17 @@
+package lab.reservation_server.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * controller 메소드 한번 호출에서 실행될 수 있는 최대 SQL 문 수
+ * 넘으면 경고 로그를 남기고, lab.query-budget.enforce=true(테스트)에서는 요청을 실패시킨다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
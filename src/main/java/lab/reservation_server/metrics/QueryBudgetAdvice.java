@@ -0,0 +1,66 @@
+package lab.reservation_server.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 응답 body를 쓰기 직전에 지금까지 실행된 SQL 문 수를 X-Query-Count header로 넣고,
+ * controller 메소드에 @QueryBudget이 있으면 예산을 넘었는지 확인한다. (N+1 조회 감지)
+ *
+ * 예산을 넘으면 http.server.queries.over.budget{handler} 를 올리고 경고 로그를 남긴다.
+ * lab.query-budget.enforce=true 이면 IllegalStateException으로 요청을 실패시킨다. (테스트에서 사용)
+ *
+ * StreamingResponseBody 응답(/api/reservations/{userId}/all/stream)은 message converter를 거치지 않으므로
+ * header도 예산 확인도 없다. body는 요청 쓰레드가 아닌 async 쓰레드에서 쓰이므로 그 안의 SQL은
+ * http.server.queries에도 잡히지 않는다. (스트리밍 조회는 예약 수와 상관없이 SQL 한번으로 고정되어 있다)
+ */
+@Slf4j
+@ControllerAdvice
+public class QueryBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-Query-Count";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enforce;
+
+    public QueryBudgetAdvice(MeterRegistry meterRegistry,
+                             @Value("${lab.query-budget.enforce:false}") boolean enforce) {
+        this.meterRegistry = meterRegistry;
+        this.enforce = enforce;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        int count = QueryCounter.current();
+        response.getHeaders().set(HEADER, String.valueOf(count));
+
+        QueryBudget budget = returnType.getMethodAnnotation(QueryBudget.class);
+        if (budget != null && count > budget.value()) {
+            String uri = request.getURI().getPath();
+            String handler = returnType.getContainingClass().getSimpleName() + "." + returnType.getExecutable().getName();
+            meterRegistry.counter("http.server.queries.over.budget", "handler", handler).increment();
+
+            String message = String.format("SQL 실행 수가 예산을 넘었습니다. %s : %d / %d", uri, count, budget.value());
+            if (enforce) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,45 @@
+package lab.reservation_server.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 요청마다 SQL 문 수를 세고, 끝나면 http.server.queries{method, uri} 에 기록한다.
+ * 응답 header(X-Query-Count)는 body를 쓰기 전에 넣어야 하므로 QueryBudgetAdvice에서 넣는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // uri는 path variable이 치환되기 전 pattern만 tag로 사용한다. (매핑되지 않은 요청은 기록하지 않음)
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                DistributionSummary.builder("http.server.queries")
+                    .description("요청 한번에 실행된 SQL 문 수")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern.toString())
+                    .register(meterRegistry)
+                    .record(QueryCounter.current());
+            }
+            QueryCounter.clear();
+        }
+    }
+}
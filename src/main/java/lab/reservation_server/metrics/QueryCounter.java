@@ -0,0 +1,42 @@
+package lab.reservation_server.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 요청 쓰레드에서 실행한 SQL 문 수
+ * QueryCountFilter가 요청마다 start, clear 하고, Hibernate가 SQL을 준비할 때마다 inspect로,
+ * JdbcTemplate이 SQL 문을 만들 때마다 CountingJdbcTemplate이 하나씩 센다.
+ * 요청 밖(스케줄러 등)의 쓰레드에서 실행한 SQL은 세지 않는다.
+ *
+ * DataSource나 커넥션을 감싸지 않으므로 SQL을 세지 않는 쓰레드에서는 ThreadLocal 조회 한번 외에 비용이 없다.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? 0 : count[0];
+    }
+
+    public static void clear() {
+        COUNT.remove();
+    }
+
+    static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        increment();
+        return sql;
+    }
+}
@@ -1,10 +1,17 @@
 package lab.reservation_server.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import lab.reservation_server.domain.Member;
 import lab.reservation_server.domain.enums.Role;
+import lab.reservation_server.dto.response.member.LoginMember;
+import lab.reservation_server.dto.response.member.MemberListItem;
+import lab.reservation_server.dto.response.member.MemberSearchResult;
+import lab.reservation_server.dto.response.member.WarningCount;
 import lab.reservation_server.dto.response.member.MemberSimpleInfo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -21,20 +28,157 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
 
   Optional<Member> findByUserId(String userId);
 
+  /**
+   * 로그인용, 회원과 현재 시간 이후로 가장 먼저 시작하는 예약 한건을 함께 조회한다.
+   * pageable로 한 행만 가져온다.
+   */
+  @Query("select new lab.reservation_server.dto.response.member.LoginMember" +
+      "(m.id, m.userId, m.password, m.name, m.email, m.major, m.phoneNum, m.role, m.deviceToken, " +
+      "m.authSemester, m.warningCount, m.tokenVersion, r.id, l.roomNumber, r.seatNum, r.startTime, r.endTime, r.extensionTime, r.permission) " +
+      "from Member m left join Reservation r on r.member = m and r.endTime > :now left join Lab l on r.lab = l " +
+      "where m.userId = :userId order by r.startTime asc")
+  List<LoginMember> findLoginMember(@Param("userId") String userId, @Param("now") LocalDateTime now, Pageable pageable);
+
   Optional<Member> findByPhoneNum(String phoneNum);
 
+  /**
+   * 회원 정보 수정 시 새 비밀번호인지 비교하기 위한 저장된 비밀번호
+   */
+  @Query("select m.password from Member m where m.id = :id")
+  Optional<String> findPasswordById(@Param("id") Long id);
+
+  /**
+   * 중복 확인용, unique index로 존재 여부만 확인한다.
+   */
+  boolean existsByUserId(String userId);
+
+  boolean existsByPhoneNum(String phoneNum);
+
+  /**
+   * 일괄 등록용, 목록 중 이미 존재하는 학번, 전화번호만 반환
+   */
+  @Query("select m.userId from Member m where m.userId in :userIds")
+  List<String> findExistingUserIds(@Param("userIds") Collection<String> userIds);
+
+  @Query("select m.phoneNum from Member m where m.phoneNum in :phoneNums")
+  List<String> findExistingPhoneNums(@Param("phoneNums") Collection<String> phoneNums);
+
+  /**
+   * 중복 확인 filter 생성용, [학번, 전화번호]
+   */
+  @Query("select m.userId, m.phoneNum from Member m")
+  List<Object[]> findAllUserIdAndPhoneNum();
+
+  /**
+   * 중복 확인 filter 동기화용, since 이후에 가입, 수정된 회원의 [학번, 전화번호]
+   */
+  @Query("select m.userId, m.phoneNum from Member m where m.modifiedDate >= :since")
+  List<Object[]> findUserIdAndPhoneNumModifiedSince(@Param("since") LocalDateTime since);
+
 
   @Query("select m from Member m where m.role = :role")
   List<Member> findAllWithRole(@Param("role") Role user);
 
   /**
-   * 회원들의 인증 여부를 전부 false로 일괄 업데이트
-   * 일괄 업데이트를 한 후, 영속성 컨텍스트 초기화
-   *
-   * update except AUMIN, MANAGER
+   * 회원 검색 인덱스 생성용, 검색 결과에 필요한 컬럼만 전체 조회
+   */
+  @Query("select new lab.reservation_server.dto.response.member.MemberSearchResult" +
+      "(m.id, m.userId, m.name, m.major, m.phoneNum, m.role) from Member m")
+  List<MemberSearchResult> findAllSearchResults();
+
+  /**
+   * 회원 검색 인덱스 동기화용, since 이후에 가입, 수정된 회원
+   */
+  @Query("select new lab.reservation_server.dto.response.member.MemberSearchResult" +
+      "(m.id, m.userId, m.name, m.major, m.phoneNum, m.role) from Member m where m.modifiedDate >= :since")
+  List<MemberSearchResult> findSearchResultsModifiedSince(@Param("since") LocalDateTime since);
+
+  /**
+   * 회원 검색 인덱스에서 다른 서버가 삭제한 회원을 찾기 위한 전체 id (PK index만 읽는다)
+   */
+  @Query("select m.id from Member m")
+  List<Long> findAllIds();
+
+  /**
+   * 권한별 회원을 id 순으로 pageable 크기만큼 조회 (졸업생 일괄 삭제용)
+   */
+  @Query("select new lab.reservation_server.dto.response.member.MemberSearchResult" +
+      "(m.id, m.userId, m.name, m.major, m.phoneNum, m.role) from Member m where m.role = :role order by m.id asc")
+  List<MemberSearchResult> findSearchResultsByRole(@Param("role") Role role, Pageable pageable);
+
+  /**
+   * 예약, 방장 내역을 먼저 지운 뒤 회원을 delete 한번으로 삭제
    */
   @Modifying(clearAutomatically = true)
-  @Query("update Member m set m.isAuth = false where m.role = 'USER' or  m.role = 'USER_TAKEOFF' or  m.role = 'USER_GRADUATE'")
-  void updateMemberIsAuthFalse();
+  @Query("delete from Member m where m.id in :ids")
+  int deleteAllByIds(@Param("ids") Collection<Long> ids);
+
+  @Query("select new lab.reservation_server.dto.response.member.MemberSearchResult" +
+      "(m.id, m.userId, m.name, m.major, m.phoneNum, m.role) from Member m where m.userId in :userIds")
+  List<MemberSearchResult> findSearchResultsByUserIds(@Param("userIds") Collection<String> userIds);
+
+  /**
+   * 회원 목록 keyset 페이지 조회, id가 lastId보다 큰 회원을 id 순으로 pageable 크기만큼 가져온다.
+   * offset을 쓰지 않기 때문에 몇번째 페이지든 primary key 범위 조회 한번으로 끝난다.
+   * role, isAuth가 null이면 조건을 적용하지 않는다. 인증 여부는 Semester.isAuthenticated와 같은 조건
+   */
+  @Query("select new lab.reservation_server.dto.response.member.MemberListItem" +
+      "(m.id, m.userId, m.name, m.major, m.email, m.phoneNum, m.role, m.warningCount, m.authSemester) " +
+      "from Member m " +
+      "where m.id > :lastId " +
+      "and (:role is null or m.role = :role) " +
+      "and (:isAuth is null " +
+      "  or (:isAuth = true and (m.authSemester = :semester " +
+      "      or (m.authSemester is not null and m.role in ('ADMIN', 'PROF')))) " +
+      "  or (:isAuth = false and (m.authSemester is null " +
+      "      or (m.authSemester <> :semester and m.role not in ('ADMIN', 'PROF'))))) " +
+      "order by m.id asc")
+  List<MemberListItem> findMemberPage(@Param("lastId") Long lastId, @Param("role") Role role,
+                                      @Param("isAuth") Boolean isAuth, @Param("semester") Integer semester,
+                                      Pageable pageable);
+
+  /**
+   * 회원 id 목록으로 [회원 id, 디바이스 토큰] 목록을 반환 (알림 일괄 전송용)
+   */
+  @Query("select m.id, m.deviceToken from Member m where m.id in :ids and m.deviceToken is not null")
+  List<Object[]> findIdAndDeviceTokensByIds(@Param("ids") Collection<Long> memberIds);
+
+  /**
+   * 경고 횟수를 DB에서 바로 1 증가시킨다.
+   * 엔티티를 읽고 증가시켜 저장하면 동시에 경고를 주는 경우 한건이 사라지기 때문에 update 한번으로 처리한다.
+   */
+  @Modifying
+  @Query("update Member m set m.warningCount = m.warningCount + 1, m.modifiedDate = :now where m.userId in :userIds")
+  int increaseWarningCount(@Param("userIds") Collection<String> userIds, @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("update Member m set m.warningCount = 0, m.modifiedDate = :now where m.userId in :userIds")
+  int resetWarningCount(@Param("userIds") Collection<String> userIds, @Param("now") LocalDateTime now);
+
+  @Query("select new lab.reservation_server.dto.response.member.WarningCount(m.userId, m.warningCount) " +
+      "from Member m where m.userId in :userIds")
+  List<WarningCount> findWarningCounts(@Param("userIds") Collection<String> userIds);
+
+  /**
+   * 로그인 시 평문 혹은 낮은 비용으로 저장된 비밀번호를 다시 해시해서 저장
+   */
+  @Modifying
+  @Query("update Member m set m.password = :password where m.id = :id")
+  int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+  /**
+   * 로그인 시 바뀐 디바이스 토큰 저장
+   */
+  @Modifying
+  @Query("update Member m set m.deviceToken = :deviceToken where m.id = :id")
+  int updateDeviceToken(@Param("id") Long id, @Param("deviceToken") String deviceToken);
+
+  /**
+   * 토큰 인증이 완료된 회원들의 인증 학기만 업데이트
+   * 엔티티를 조회하지 않고 모아둔 회원을 한번의 update로 처리한다. (AuthSemesterWriteBehind)
+   */
+  @Modifying
+  @Query("update Member m set m.authSemester = :semester where m.id in :ids")
+  int updateAuthSemester(@Param("ids") Collection<Long> ids, @Param("semester") Integer semester);
 
 }
@@ -1,7 +1,53 @@
 package lab.reservation_server.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import lab.reservation_server.domain.Report;
+import lab.reservation_server.dto.response.report.ReportSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ReportRepository extends JpaRepository<Report, Long> {
+
+  /**
+   * 문의 및 신고 목록 keyset 페이지 조회, (createDate, id)가 (lastCreateDate, lastId)보다 앞서는 내역을 최신순으로 가져온다.
+   * offset을 쓰지 않기 때문에 쌓인 내역 수와 상관없이 (create_date, id) index 범위 조회 한번으로 끝난다.
+   */
+  @Query("select new lab.reservation_server.dto.response.report.ReportSummary" +
+      "(r.id, r.title, r.writerName, r.userId, r.createDate) " +
+      "from Report r " +
+      "where (r.createDate < :lastCreateDate or (r.createDate = :lastCreateDate and r.id < :lastId)) " +
+      "and r.createDate >= :from and r.createDate < :to " +
+      "order by r.createDate desc, r.id desc")
+  List<ReportSummary> findReportPage(@Param("lastCreateDate") LocalDateTime lastCreateDate,
+                                     @Param("lastId") Long lastId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     Pageable pageable);
+
+  /**
+   * 작성자별 문의 및 신고 목록 keyset 페이지 조회, (user_id, create_date, id) index 범위 조회 한번으로 끝난다.
+   * 작성자 조건을 "userId가 null이면 무시"로 합치면 index를 타지 못하는 경우가 있어서 쿼리를 나눴다.
+   */
+  @Query("select new lab.reservation_server.dto.response.report.ReportSummary" +
+      "(r.id, r.title, r.writerName, r.userId, r.createDate) " +
+      "from Report r " +
+      "where r.userId = :userId " +
+      "and (r.createDate < :lastCreateDate or (r.createDate = :lastCreateDate and r.id < :lastId)) " +
+      "and r.createDate >= :from and r.createDate < :to " +
+      "order by r.createDate desc, r.id desc")
+  List<ReportSummary> findReportPageByUserId(@Param("userId") String userId,
+                                             @Param("lastCreateDate") LocalDateTime lastCreateDate,
+                                             @Param("lastId") Long lastId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             Pageable pageable);
+
+  /**
+   * id 이후에 저장된 신고 id를 순서대로 조회, 검색 인덱스에 없는 신고를 찾을 때 사용 (PK index만 읽는다)
+   */
+  @Query("select r.id from Report r where r.id > :id order by r.id asc")
+  List<Long> findIdsByIdGreaterThan(@Param("id") Long id, Pageable pageable);
 }
@@ -0,0 +1,168 @@
+package lab.reservation_server.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 지난 예약 보관 테이블(reservation_archive), 예약 시작 시간(start_time) 기준 월 단위 partition
+ *
+ * partition 정의는 JPA로 만들 수 없어서 테이블 생성과 partition 추가를 직접 SQL로 한다.
+ * 처음에는 p_future 하나만 있고, 보관할 예약이 있는 달마다 p_future를 나눠서 pYYYYMM partition을 만든다.
+ * partition은 MariaDB(MySQL)에서만 쓰고, 그 외 DB(테스트의 H2)에서는 partition 없이 같은 컬럼과 index로 만든다.
+ *
+ * partition 테이블은 외래키를 가질 수 없다.
+ * 회원 삭제 시에는 deleteAllByMemberIds로 함께 지우고, 강의실이 삭제된 보관 예약은 지우지 않고 남긴다.
+ * (예약 내역 조회는 강의실을 left join해서 호실 없이 보여주고, 수용 인원을 알 수 없으므로 이용률 분석에서는 빠진다)
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ReservationArchiveRepository {
+
+    public static final String TABLE = "reservation_archive";
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String TABLE_DEFINITION =
+        "create table if not exists " + TABLE + " (" +
+            "id bigint not null, " +
+            "member_id bigint not null, " +
+            "lab_id bigint not null, " +
+            "seat_num varchar(255) not null, " +
+            "start_time datetime(6) not null, " +
+            "end_time datetime(6) not null, " +
+            "extension_time datetime(6) not null, " +
+            "permission bit not null, " +
+            "created_date datetime(6), " +
+            "modified_date datetime(6), " +
+            "archived_date datetime(6) not null, " +
+            "primary key (id, start_time)";
+
+    private static final String MEMBER_INDEX = "idx_reservation_archive_member_start";
+
+    private static final String CREATE_PARTITIONED_TABLE = TABLE_DEFINITION + ", " +
+            "key " + MEMBER_INDEX + " (member_id, start_time, id)" +
+        ") partition by range columns (start_time) (" +
+            "partition " + FUTURE_PARTITION + " values less than (maxvalue))";
+
+    private static final String CREATE_TABLE = TABLE_DEFINITION + ")";
+
+    private static final String CREATE_MEMBER_INDEX =
+        "create index if not exists " + MEMBER_INDEX + " on " + TABLE + " (member_id, start_time, id)";
+
+    private static final String MOVE =
+        "insert into " + TABLE + " (id, member_id, lab_id, seat_num, start_time, end_time, extension_time, " +
+            "permission, created_date, modified_date, archived_date) " +
+        "select id, member_id, lab_id, seat_num, start_time, end_time, extension_time, " +
+            "permission, created_date, modified_date, :archivedDate " +
+        "from reservation where id in (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private volatile Boolean partitioned;
+
+    public void createTableIfNotExists() {
+        if (isPartitioned()) {
+            jdbcTemplate.execute(CREATE_PARTITIONED_TABLE);
+            return;
+        }
+        jdbcTemplate.execute(CREATE_TABLE);
+        jdbcTemplate.execute(CREATE_MEMBER_INDEX);
+    }
+
+    /**
+     * from ~ to 달의 partition이 없으면 p_future를 나눠서 만든다. partition을 쓰지 않는 DB에서는 아무것도 하지 않는다.
+     * 이미 있는 가장 마지막 달 partition 이전의 달은 그 partition에 들어가므로 만들지 않는다.
+     */
+    public void ensurePartitions(YearMonth from, YearMonth to) {
+        if (!isPartitioned()) {
+            return;
+        }
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+            "select partition_name from information_schema.partitions " +
+                "where table_schema = database() and table_name = ?", String.class, TABLE));
+
+        YearMonth last = existing.stream()
+            .filter(name -> !name.equals(FUTURE_PARTITION))
+            .map(name -> YearMonth.parse(name, PARTITION_NAME))
+            .max(YearMonth::compareTo)
+            .orElse(null);
+
+        for (YearMonth month = last == null ? from : last.plusMonths(1); !month.isAfter(to); month = month.plusMonths(1)) {
+            String name = month.format(PARTITION_NAME);
+            jdbcTemplate.execute("alter table " + TABLE + " reorganize partition " + FUTURE_PARTITION + " into (" +
+                "partition " + name + " values less than ('" + month.plusMonths(1).atDay(1) + " 00:00:00'), " +
+                "partition " + FUTURE_PARTITION + " values less than (maxvalue))");
+            log.info("예약 보관 partition 추가 : {}", name);
+        }
+    }
+
+    /**
+     * cutoff 전에 끝난 예약 중 가장 먼저 시작한 예약의 시작 시간
+     */
+    public Optional<LocalDateTime> findOldestStartTime(LocalDateTime cutoff) {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+            "select min(start_time) from reservation where end_time < ?", Timestamp.class, Timestamp.valueOf(cutoff));
+        return Optional.ofNullable(oldest).map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * cutoff 전에 끝난 예약 id를 id 순으로 size건 조회
+     * 타이머, 연장 알림이 참조하지 않도록 cutoff는 충분히 과거여야 한다. (ReservationArchiveSchedule.MIN_HORIZON_DAYS)
+     */
+    public List<Long> findArchivableIds(LocalDateTime cutoff, int size) {
+        return jdbcTemplate.queryForList(
+            "select id from reservation where end_time < ? order by id limit ?", Long.class,
+            Timestamp.valueOf(cutoff), size);
+    }
+
+    /**
+     * 예약을 보관 테이블로 복사한 뒤 예약 테이블에서 삭제, 트랜잭션 안에서 호출해야 한다.
+     */
+    public int move(List<Long> ids, LocalDateTime archivedDate) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        namedParameterJdbcTemplate.update(MOVE, Map.of("ids", ids, "archivedDate", Timestamp.valueOf(archivedDate)));
+        return namedParameterJdbcTemplate.update("delete from reservation where id in (:ids)", Map.of("ids", ids));
+    }
+
+    /**
+     * 회원들의 보관된 예약 내역을 delete 한번으로 삭제
+     */
+    public int deleteAllByMemberIds(Collection<Long> memberIds) {
+        if (memberIds.isEmpty()) {
+            return 0;
+        }
+        return namedParameterJdbcTemplate.update("delete from " + TABLE + " where member_id in (:memberIds)",
+            Map.of("memberIds", memberIds));
+    }
+
+    /**
+     * range partition(partition by range columns)은 MariaDB(MySQL) 문법이므로 그 DB에서만 쓴다.
+     */
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            partitioned = product != null && (product.contains("MariaDB") || product.contains("MySQL"));
+        }
+        return partitioned;
+    }
+}
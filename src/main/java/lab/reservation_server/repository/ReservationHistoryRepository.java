@@ -0,0 +1,134 @@
+package lab.reservation_server.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import lab.reservation_server.analytics.ReservationColumns;
+import lab.reservation_server.dto.response.reservation.BookInfo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 사용자의 지난 예약 내역 조회, 예약 테이블(reservation)과 보관 테이블(reservation_archive)을 union all로 함께 읽는다.
+ * 오늘 예약 관련 조회는 ReservationRepository로 예약 테이블만 읽는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationHistoryRepository {
+
+    private static final String COLUMNS =
+        "select r.id, m.name, m.user_id, m.major, l.room_number, r.seat_num, " +
+            "r.start_time, r.end_time, r.extension_time, r.permission ";
+
+    private static final String HOT = COLUMNS +
+        "from reservation r join member m on m.id = r.member_id join lab l on l.id = r.lab_id where r.member_id = ? ";
+
+    /**
+     * 보관 테이블은 강의실 외래키가 없어서 강의실이 삭제된 예약이 남을 수 있으므로 lab을 left join 한다. (호실은 null)
+     */
+    private static final String ARCHIVE = COLUMNS +
+        "from " + ReservationArchiveRepository.TABLE + " r " +
+        "join member m on m.id = r.member_id left join lab l on l.id = r.lab_id where r.member_id = ? ";
+
+    private static final String ALL =
+        HOT + "union all " + ARCHIVE + "order by start_time asc, id asc";
+
+    private static final String KEYSET = "and (r.start_time < ? or (r.start_time = ? and r.id < ?)) " +
+        "order by r.start_time desc, r.id desc limit ?";
+
+    /**
+     * 테이블마다 (member_id, start_time, id) index로 size건씩만 읽고 합쳐서 다시 size건을 자른다.
+     */
+    private static final String PAGE =
+        "(" + HOT + KEYSET + ") union all (" + ARCHIVE + KEYSET + ") order by start_time desc, id desc limit ?";
+
+    private static final String MONTH_COLUMNS =
+        "select l.room_number, l.capacity, r.seat_num, r.start_time, r.end_time, r.member_id, r.permission ";
+
+    /**
+     * 수용 인원이 있어야 이용률을 계산할 수 있으므로 강의실이 삭제된 보관 예약은 inner join으로 제외한다.
+     */
+    private static final String MONTH_CONDITION = " r join lab l on l.id = r.lab_id where r.start_time >= ? and r.start_time < ? ";
+
+    private static final String MONTH =
+        MONTH_COLUMNS + "from reservation" + MONTH_CONDITION +
+        "union all " + MONTH_COLUMNS + "from " + ReservationArchiveRepository.TABLE + MONTH_CONDITION;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 사용자의 모든 예약 내역 (시작 시간 순)
+     */
+    public List<BookInfo> findAllByMemberId(Long memberId) {
+        return jdbcTemplate.query(ALL, (rs, rowNum) -> toBookInfo(rs), memberId, memberId);
+    }
+
+    /**
+     * 사용자의 예약 내역 keyset 페이지, (startTime, id)가 (lastStartTime, lastId)보다 앞서는 내역을 최근 순으로 size건
+     */
+    public List<BookInfo> findPageByMemberId(Long memberId, LocalDateTime lastStartTime, Long lastId, int size) {
+        Timestamp last = Timestamp.valueOf(lastStartTime);
+        return jdbcTemplate.query(PAGE, (rs, rowNum) -> toBookInfo(rs),
+            memberId, last, last, lastId, size,
+            memberId, last, last, lastId, size,
+            size);
+    }
+
+    /**
+     * 사용자의 모든 예약 내역을 시작 시간 순으로 한건씩 consumer에 넘긴다.
+     * forward-only cursor에 fetch size를 지정해서 결과 전체를 메모리에 올리지 않는다.
+     */
+    public void streamByMemberId(Long memberId, int fetchSize, Consumer<BookInfo> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(ALL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, memberId);
+            ps.setLong(2, memberId);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(toBookInfo(rs)));
+    }
+
+    /**
+     * 예약 테이블과 보관 테이블 전체에서 가장 먼저 시작한 예약의 시작 시간
+     */
+    public Optional<LocalDateTime> findOldestStartTime() {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+            "select min(start_time) from (select min(start_time) start_time from reservation " +
+                "union all select min(start_time) from " + ReservationArchiveRepository.TABLE + ") t", Timestamp.class);
+        return Optional.ofNullable(oldest).map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * month에 시작한 모든 예약을 columns에 추가한다. streamByMemberId와 같이 forward-only cursor로 읽는다.
+     */
+    public void exportMonth(YearMonth month, int fetchSize, ReservationColumns columns) {
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(MONTH, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setTimestamp(1, from);
+            ps.setTimestamp(2, to);
+            ps.setTimestamp(3, from);
+            ps.setTimestamp(4, to);
+            return ps;
+        }, (RowCallbackHandler) rs -> columns.add(rs.getString("room_number"), rs.getInt("capacity"),
+            rs.getString("seat_num"), rs.getTimestamp("start_time").toLocalDateTime(),
+            rs.getTimestamp("end_time").toLocalDateTime(), rs.getLong("member_id"), rs.getBoolean("permission")));
+    }
+
+    private BookInfo toBookInfo(ResultSet rs) throws SQLException {
+        return new BookInfo(rs.getLong("id"), rs.getString("name"), rs.getString("user_id"), rs.getString("major"),
+            rs.getString("room_number"), rs.getString("seat_num"),
+            rs.getTimestamp("start_time").toLocalDateTime(), rs.getTimestamp("end_time").toLocalDateTime(),
+            rs.getTimestamp("extension_time").toLocalDateTime(), rs.getBoolean("permission"));
+    }
+}
@@ -2,11 +2,14 @@ package lab.reservation_server.repository;
 
 import java.sql.Date;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import lab.reservation_server.domain.Lab;
 import lab.reservation_server.domain.Member;
 import lab.reservation_server.domain.Reservation;
+import lab.reservation_server.dto.response.reservation.BookInfo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,12 +18,12 @@ import org.springframework.data.repository.query.Param;
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
     /**
-     * 오늘 날짜 기준, Member가 가장 최근에 예약한 이상적인 Reservation을 가져온다.
-     * 부등호 check 완료
+     * 현재 시간 이후로 가장 먼저 시작하는 예약을 pageable 크기만큼 가져온다.
      */
-    @Query("select r from Reservation r join fetch r.member m join fetch r.lab l where m.id = :memberId and r.endTime > :now order by r.startTime asc")
-    Optional<List<Reservation>> findReservationByMemberId(@Param("memberId") Long memberId,
-                                                          @Param("now") LocalDateTime now);
+    @Query("select r from Reservation r join fetch r.lab l where r.member.id = :memberId and r.endTime > :now order by r.startTime asc")
+    List<Reservation> findNextReservationByMemberId(@Param("memberId") Long memberId,
+                                                    @Param("now") LocalDateTime now,
+                                                    Pageable pageable);
 
     @Query("select r from Reservation r where r.member =:member and r.lab =:lab and Date(r.createdDate) = :today order by r.endTime desc")
     List<Reservation> findReservationByMemberAndLab(@Param("member") Member member,@Param("lab") Lab lab,@Param("today") Date today);
@@ -47,13 +50,14 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     /**
      * 조교 화면 기준으로 사용되는 쿼리, 조교 입장에서 특정 강의실,
      * 특정 시간대에 조회하는 경우는 permission이 true인 경우의 승인된 예약 내역을 조회한다.
+     * entity를 만들지 않고 응답 dto(BookInfo)로 바로 조회한다.
      * 부등호 check 완료
      */
-    @Query("select r from Reservation r where r.lab =:lab and r.startTime >= :startTime and r.endTime <= :endTime and r.permission = :permission order by r.startTime asc")
-    Optional<List<Reservation>> findCurrentReservationWithPermission(@Param("lab") Lab lab,
-                                                                     @Param("startTime") LocalDateTime startTime,
-                                                                     @Param("endTime") LocalDateTime endTime,
-                                                                     @Param("permission") boolean permission);
+    @Query("select new lab.reservation_server.dto.response.reservation.BookInfo(r.id, m.name, m.userId, m.major, l.roomNumber, r.seatNum, r.startTime, r.endTime, r.extensionTime, r.permission) from Reservation r join r.member m join r.lab l where r.lab =:lab and r.startTime >= :startTime and r.endTime <= :endTime and r.permission = :permission order by r.startTime asc")
+    List<BookInfo> findBookInfosWithPermission(@Param("lab") Lab lab,
+                                               @Param("startTime") LocalDateTime startTime,
+                                               @Param("endTime") LocalDateTime endTime,
+                                               @Param("permission") boolean permission);
 
     /**
      * 특정 강의실, 특정 시간대 범위에 이용중인 reservation을 반환한다. (오늘 기준으로 검색, 스케줄러를 통해 일주일 단위로 삭제 해도
@@ -89,22 +93,16 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     Optional<List<Reservation>> findReservationWithPermissionByLabId(@Param("lab") Lab lab,@Param("today") java.sql.Date today,@Param("permission") boolean permission);
 
   /**
-   * 오늘 특정 사용자가 예약 한 모든 내역을 반환한다.
+   * 오늘 특정 사용자가 예약 한 모든 내역을 응답 dto(BookInfo)로 반환한다.
    */
-    @Query("select r from Reservation r join fetch r.lab l where r.member = :member and Date(r.createdDate) = :today order by r.startTime asc")
-    Optional<List<Reservation>> findAllByMember(@Param("member") Member member , @Param("today") java.sql.Date today);
+    @Query("select new lab.reservation_server.dto.response.reservation.BookInfo(r.id, m.name, m.userId, m.major, l.roomNumber, r.seatNum, r.startTime, r.endTime, r.extensionTime, r.permission) from Reservation r join r.member m join r.lab l where m.id = :memberId and Date(r.createdDate) = :today order by r.startTime asc")
+    List<BookInfo> findBookInfosByMemberIdAndDate(@Param("memberId") Long memberId, @Param("today") java.sql.Date today);
 
     /**
-    * 사용자가 해당 서비스를 이용하면서 예약했던 모든 내역을 조회한다.
-   */
-    @Query("select r from Reservation r join fetch r.lab l where r.member = :member order by r.startTime asc")
-    Optional<List<Reservation>> findAllLastReservationByMember(@Param("member") Member member);
-
-    /**
-     * 오늘 예약한 목록 중에서 permission이 true 혹은 false에 따른 예약 내역 전체를 반환한다.
+     * 오늘 예약한 목록 중에서 permission이 true 혹은 false에 따른 예약 내역 전체를 응답 dto(BookInfo)로 반환한다.
      */
-    @Query("select r from Reservation r join fetch r.member m join fetch r.lab l where Date(r.createdDate) = :today and r.permission = :permission order by r.startTime asc")
-    Optional<List<Reservation>> findReservationsByDateAndPermission(@Param("today") java.sql.Date today, @Param("permission") boolean permission);
+    @Query("select new lab.reservation_server.dto.response.reservation.BookInfo(r.id, m.name, m.userId, m.major, l.roomNumber, r.seatNum, r.startTime, r.endTime, r.extensionTime, r.permission) from Reservation r join r.member m join r.lab l where Date(r.createdDate) = :today and r.permission = :permission order by r.startTime asc")
+    List<BookInfo> findBookInfosByDateAndPermission(@Param("today") java.sql.Date today, @Param("permission") boolean permission);
 
     /**
      * 특정 강의실의 오늘 예약 내역 중에서 미승인된 permission의 상태를 update 해준다.
@@ -119,7 +117,39 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     @Query("select r from Reservation r join fetch r.member m where r.lab = :lab and r.id in :ids order by r.endTime desc")
     Optional<List<Reservation>> findMemberWithLongestTime(@Param("lab") Lab lab, @Param("ids") List<Long> reservationIds);
 
+    /**
+     * 연장 알림 선점, 예약이 그대로 있고 extensionTime의 알림을 아직 아무 서버도 보내지 않았을 때만 1을 반환한다.
+     * 다른 서버에서 취소, 연장된 예약의 타이머는 0이 되어 알림을 보내지 않는다.
+     */
+    @Modifying
+    @Query("update Reservation r set r.remindedExtensionTime = :extensionTime " +
+        "where r.id = :id and r.extensionTime = :extensionTime " +
+        "and (r.remindedExtensionTime is null or r.remindedExtensionTime <> :extensionTime)")
+    int claimExtensionReminder(@Param("id") Long reservationId, @Param("extensionTime") LocalDateTime extensionTime);
+
     @Modifying
     @Query("delete from Reservation r where r.id in :ids")
     void deleteByIds(@Param("ids") List<Long> reservationIds);
+
+    /**
+     * 회원 삭제 전, 아직 끝나지 않은 예약의 타이머를 취소하기 위해 id만 조회
+     */
+    @Query("select r.id from Reservation r where r.member.id in :memberIds and r.endTime > :now")
+    List<Long> findNotEndedReservationIdsByMemberIds(@Param("memberIds") Collection<Long> memberIds,
+                                                     @Param("now") LocalDateTime now);
+
+    /**
+     * 회원들의 예약 내역을 delete 한번으로 삭제
+     */
+    @Modifying
+    @Query("delete from Reservation r where r.member.id in :memberIds")
+    int deleteAllByMemberIds(@Param("memberIds") Collection<Long> memberIds);
+
+    /**
+     * until 이전에 시작하고 아직 종료되지 않은 예약을 반환한다. (lifecycle timer 구성용)
+     * 예약한 날짜(createdDate)가 아닌 이용 시간으로 찾으므로 전날 예약한 오늘 이용분, 자정을 넘겨 이어지는 예약도 포함된다.
+     */
+    @Query("select r from Reservation r join fetch r.member m join fetch r.lab l " +
+        "where r.startTime < :until and r.endTime > :now")
+    List<Reservation> findNotEndedStartingBefore(@Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
 }
@@ -0,0 +1,30 @@
+package lab.reservation_server.repository;
+
+import java.time.LocalDateTime;
+import lab.reservation_server.domain.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+  /**
+   * 내가 가지고 있거나 만료된 lease만 가져온다.
+   * 조건부 update 한번으로 처리하기 때문에 두 서버가 동시에 시도해도 한 서버만 1을 반환받는다.
+   */
+  @Modifying
+  @Query("update SchedulerLease l set l.owner = :owner, l.expiresAt = :expiresAt " +
+      "where l.name = :name and (l.owner = :owner or l.expiresAt < :now)")
+  int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                 @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+  /**
+   * 내가 가지고 있는 lease의 만료 시간만 연장
+   */
+  @Modifying
+  @Query("update SchedulerLease l set l.expiresAt = :expiresAt " +
+      "where l.name = :name and l.owner = :owner and l.expiresAt >= :now")
+  int renew(@Param("name") String name, @Param("owner") String owner,
+            @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+}
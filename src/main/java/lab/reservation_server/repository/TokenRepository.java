@@ -1,8 +1,11 @@
 package lab.reservation_server.repository;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import lab.reservation_server.domain.Token;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -15,4 +18,16 @@ public interface TokenRepository extends JpaRepository<Token, Long> {
    */
   @Query("select t from Token t where t.value = :token")
   Optional<Token> findByValue(@Param("token") String token);
+
+  /**
+   * 만료되지 않은 토큰 전체 (토큰 캐시 로딩용)
+   */
+  List<Token> findAllByExpirationGreaterThanEqual(LocalDate today);
+
+  /**
+   * 만료된 토큰 삭제, expiration index 범위로만 지운다.
+   */
+  @Modifying
+  @Query("delete from Token t where t.expiration < :today")
+  int deleteExpired(@Param("today") LocalDate today);
 }
@@ -0,0 +1,19 @@
+package lab.reservation_server.repository;
+
+import java.util.Optional;
+import javax.persistence.LockModeType;
+import lab.reservation_server.domain.TokenSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TokenSequenceRepository extends JpaRepository<TokenSequence, Long> {
+
+  /**
+   * 여러 서버가 같은 구간을 받지 않도록 select ... for update로 조회
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from TokenSequence s where s.id = :id")
+  Optional<TokenSequence> findForUpdate(@Param("id") Long id);
+}
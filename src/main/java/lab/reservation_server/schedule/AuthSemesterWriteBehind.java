@@ -0,0 +1,107 @@
+package lab.reservation_server.schedule;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.annotation.PreDestroy;
+import lab.reservation_server.cache.MemberSummary;
+import lab.reservation_server.cache.MemberSummaryCache;
+import lab.reservation_server.domain.Semester;
+import lab.reservation_server.exception.ServiceUnavailableException;
+import lab.reservation_server.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 토큰 인증에 성공한 회원의 인증 학기를 모아서 저장한다.
+ * 요청마다 UPDATE를 하지 않고 1초마다 최대 500명씩 update ... where id in (...) 한번으로 반영한다.
+ *
+ * 대기열이 가득 차면 ServiceUnavailableException(503)으로 응답해서, 저장되지 않을 인증을 성공으로 알려주지 않는다.
+ * DB 연결 문제로 저장하지 못한 batch는 버리지 않고 다음 flush에서 다시 시도한다.
+ * 그 외의 이유로 실패한 batch는 다시 시도해도 같은 결과이므로 회원 id를 로그로 남기고 버린다. (해당 학생은 토큰을 다시 입력해야 한다)
+ *
+ * 반영되기 전(최대 약 1초) 서버가 비정상 종료되면 해당 학생은 토큰을 다시 입력해야 한다.
+ * 정상 종료 시에는 @PreDestroy에서 남은 값을 모두 저장한다.
+ */
+@Slf4j
+@Component
+public class AuthSemesterWriteBehind {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MemberRepository memberRepository;
+    private final MemberSummaryCache memberSummaryCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<MemberSummary> pending;
+
+    /**
+     * DB 연결 문제로 저장하지 못해 다음 flush에서 다시 시도할 batch
+     */
+    private Map<Long, MemberSummary> retry = new HashMap<>();
+
+    public AuthSemesterWriteBehind(MemberRepository memberRepository, MemberSummaryCache memberSummaryCache,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${lab.auth-semester.capacity:10000}") int capacity) {
+        this.memberRepository = memberRepository;
+        this.memberSummaryCache = memberSummaryCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pending = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * 인증 학기 저장 대기열에 넣는다. 대기열이 가득 찬 경우 ServiceUnavailableException
+     */
+    public void enqueue(MemberSummary member) {
+        if (!pending.offer(member)) {
+            throw new ServiceUnavailableException("토큰 인증이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public synchronized void flush() {
+        while (true) {
+            Map<Long, MemberSummary> batch = retry;
+            retry = new HashMap<>();
+            MemberSummary member;
+            while (batch.size() < BATCH_SIZE && (member = pending.poll()) != null) {
+                batch.put(member.getId(), member);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            Integer semester = Semester.current();
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                    memberRepository.updateAuthSemester(batch.keySet(), semester));
+            } catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+                retry = batch;
+                log.warn("인증 학기 {}명 저장 실패, 다음에 다시 시도합니다.", batch.size(), e);
+                return;
+            } catch (DataAccessException e) {
+                log.error("인증 학기를 저장하지 못했습니다. 회원 id : {}", batch.keySet(), e);
+                continue;
+            }
+            batch.values().forEach(summary -> memberSummaryCache.evict(summary.getId(), summary.getUserId()));
+
+            log.debug("인증 학기 저장 : {}명", batch.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        if (!retry.isEmpty() || !pending.isEmpty()) {
+            log.error("종료 전에 인증 학기 {}명을 저장하지 못했습니다. 회원 id : {}", retry.size() + pending.size(), retry.keySet());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package lab.reservation_server.schedule;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PreDestroy;
+import lab.reservation_server.repository.MemberRepository;
+import lab.reservation_server.repository.ReservationRepository;
+import lab.reservation_server.schedule.ReservationLifecycleEvent.Type;
+import lab.reservation_server.service.firebase.FirebaseCloudMessageService;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 예약의 연장 가능 시간이 되면 사용자에게 연장 알림을 보낸다.
+ * 연장 가능 시간은 ReservationLifecycleScheduler의 타이머가 알려주기 때문에 예약 테이블을 주기적으로 조회하지 않는다.
+ * 알림은 1분 단위로 모아서 한번에 전송한다.
+ *
+ * 전송은 FCM 요청마다 blocking 되므로 스케줄러 스레드(lifecycle tick도 같이 쓴다)가 아닌 전용 스레드에서 보낸다.
+ * 다시 보내볼 만한 실패는 다음 분에 최대 MAX_ATTEMPTS번까지 다시 보낸다.
+ *
+ * 타이머는 서버마다 있고 서버가 시작될 때 오늘 예약으로 다시 구성되므로, 같은 예약의 타이머가 여러 서버에서 울린다.
+ * 보내기 전에 예약 행의 remindedExtensionTime을 선점(claimExtensionReminder)한 서버만 보내서 알림이 한번만 가도록 하고,
+ * 다른 서버에서 취소되거나 연장된 예약은 선점에 실패하므로 남아있는 타이머가 울려도 보내지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExtensionReminderSchedule {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final MemberRepository memberRepository;
+    private final ReservationRepository reservationRepository;
+    private final FirebaseCloudMessageService firebaseCloudMessageService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 알림을 보내야 하는 예약
+     */
+    private final Queue<Reminder> pending = new ConcurrentLinkedQueue<>();
+
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "extension-reminder-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener
+    public void onLifecycleEvent(ReservationLifecycleEvent event) {
+        if (event.getType() == Type.EXTENSION_WINDOW_OPEN) {
+            pending.add(new Reminder(event.getReservationId(), event.getMemberId(), event.getTime(), false, 1));
+        }
+    }
+
+    /**
+     * 매 분마다 모인 알림을 전용 스레드로 넘긴다.
+     * 모인 알림이 없으면 DB에 접근하지 않는다.
+     */
+    @Scheduled(cron = "0 * * * * *")
+    public void flush() {
+        Map<Long, Reminder> reminders = new HashMap<>();
+        Reminder reminder;
+        while ((reminder = pending.poll()) != null) {
+            reminders.putIfAbsent(reminder.reservationId, reminder);
+        }
+
+        if (reminders.isEmpty()) {
+            return;
+        }
+
+        sender.execute(() -> send(reminders.values()));
+    }
+
+    private void send(Collection<Reminder> reminders) {
+        List<Reminder> claimed = new ArrayList<>(reminders.size());
+        for (Reminder reminder : reminders) {
+            try {
+                if (reminder.claimed || claim(reminder)) {
+                    claimed.add(reminder.asClaimed());
+                }
+            } catch (RuntimeException e) {
+                // 선점 자체가 실패하면 다음 분에 다시 선점해본다.
+                log.warn("연장 알림 선점 실패 , reservation : {}", reminder.reservationId, e);
+                retry(reminder);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Reminder>> byToken = new HashMap<>();
+        try {
+            Map<Long, List<Reminder>> byMember = new HashMap<>();
+            claimed.forEach(reminder -> byMember.computeIfAbsent(reminder.memberId, key -> new ArrayList<>()).add(reminder));
+            for (Object[] row : memberRepository.findIdAndDeviceTokensByIds(byMember.keySet())) {
+                byToken.computeIfAbsent((String) row[1], key -> new ArrayList<>()).addAll(byMember.get((Long) row[0]));
+            }
+
+            List<String> retryTokens = firebaseCloudMessageService.sendMessagesTo(new ArrayList<>(byToken.keySet()),
+                "예약 연장 알림", "지금부터 예약을 연장할 수 있습니다.");
+            retryTokens.forEach(token -> byToken.get(token).forEach(this::retry));
+        } catch (IOException | RuntimeException e) {
+            log.warn("연장 알림 전송 실패 , 대상 {}건", claimed.size(), e);
+            claimed.forEach(this::retry);
+        }
+    }
+
+    private boolean claim(Reminder reminder) {
+        Integer updated = transactionTemplate.execute(status ->
+            reservationRepository.claimExtensionReminder(reminder.reservationId, reminder.extensionTime));
+        return updated != null && updated == 1;
+    }
+
+    private void retry(Reminder reminder) {
+        if (reminder.attempt >= MAX_ATTEMPTS) {
+            log.warn("연장 알림 {}회 실패로 포기 , reservation : {}", reminder.attempt, reminder.reservationId);
+            return;
+        }
+        pending.add(new Reminder(reminder.reservationId, reminder.memberId, reminder.extensionTime, reminder.claimed,
+            reminder.attempt + 1));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+    }
+
+    /**
+     * claimed : 이 서버가 이미 선점한 알림, 다시 보낼때 선점하지 않는다.
+     */
+    @AllArgsConstructor
+    private static class Reminder {
+
+        private final Long reservationId;
+        private final Long memberId;
+        private final LocalDateTime extensionTime;
+        private final boolean claimed;
+        private final int attempt;
+
+        private Reminder asClaimed() {
+            return claimed ? this : new Reminder(reservationId, memberId, extensionTime, true, attempt);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package lab.reservation_server.schedule;
+
+import java.time.Duration;
+import lab.reservation_server.schedule.lease.LeaseManager;
+import lab.reservation_server.service.MemberService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 매 학기 시작일(3월 1일, 9월 1일) 새벽에 졸업생(USER_GRADUATE) 계정을 삭제
+ * chunkSize명 단위로 트랜잭션을 나눠서 삭제하기 때문에 한번에 테이블을 오래 잠그지 않는다.
+ * 여러 서버 중 lease를 가진 한 서버만 실행하고, 묶음마다 lease를 연장한다.
+ */
+@Slf4j
+@Component
+public class MemberPurgeSchedule {
+
+    private static final String LEASE_NAME = "member-purge";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(10);
+
+    private final MemberService memberService;
+    private final LeaseManager leaseManager;
+    private final int chunkSize;
+
+    public MemberPurgeSchedule(MemberService memberService, LeaseManager leaseManager,
+                               @Value("${lab.member-purge.chunk-size:500}") int chunkSize) {
+        this.memberService = memberService;
+        this.leaseManager = leaseManager;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${lab.member-purge.cron:0 0 4 1 3,9 *}")
+    public void purgeGraduates() {
+        leaseManager.runExclusively(LEASE_NAME, LEASE_TTL, this::purge);
+    }
+
+    private void purge() {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = memberService.purgeGraduates(chunkSize);
+            total += deleted;
+        } while (deleted == chunkSize && leaseManager.renew(LEASE_NAME, LEASE_TTL));
+
+        log.info("졸업생 계정 삭제 완료 : {}명", total);
+    }
+}
@@ -0,0 +1,164 @@
+package lab.reservation_server.schedule;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.annotation.PreDestroy;
+import lab.reservation_server.domain.Report;
+import lab.reservation_server.exception.ServiceUnavailableException;
+import lab.reservation_server.search.ReportSearchIndex;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 문의 및 신고 접수 대기열
+ * 실습실에 문제가 생기면 신고가 한꺼번에 몰리는데, 그때는 DB도 가장 바쁘다.
+ * 요청마다 INSERT를 하지 않고 대기열에 넣은 뒤 바로 응답하고, 1초마다 최대 500건씩 JDBC batch insert 한번으로 저장한다.
+ *
+ * 대기열이 가득 차면 ServiceUnavailableException(503)으로 잠시 후 다시 시도하도록 한다.
+ * DB 연결 문제로 저장하지 못한 batch는 다음 flush에서 다시 시도하고, 잘못된 값이 섞여 batch가 실패하면
+ * 한건씩 다시 저장해서 문제가 되는 신고만 로그로 남기고 버린다.
+ *
+ * 정상 종료 시에는 @PreDestroy에서 남은 신고를 모두 저장한다. 비정상 종료 시에는 저장되지 않은 신고(최대 약 1초)는 유실된다.
+ * 저장이 끝나면 검색 인덱스에 새로 저장된 신고를 반영한다.
+ */
+@Slf4j
+@Component
+public class ReportWriteBehind {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_REPORT =
+        "insert into report (title, content, writer_name, user_id, create_date) values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportSearchIndex reportSearchIndex;
+
+    private final BlockingQueue<PendingReport> pending;
+
+    /**
+     * DB 연결 문제로 저장하지 못해 다음 flush에서 다시 시도할 batch
+     */
+    private List<PendingReport> retry = new ArrayList<>();
+
+    public ReportWriteBehind(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ReportSearchIndex reportSearchIndex, MeterRegistry meterRegistry,
+                             @Value("${lab.report-intake.capacity:10000}") int capacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reportSearchIndex = reportSearchIndex;
+        this.pending = new ArrayBlockingQueue<>(capacity);
+
+        meterRegistry.gauge("report.intake.pending", pending, BlockingQueue::size);
+    }
+
+    /**
+     * 신고를 대기열에 넣는다. 대기열이 가득 찬 경우 ServiceUnavailableException
+     */
+    public void enqueue(Report report) {
+        if (!pending.offer(new PendingReport(report, LocalDateTime.now()))) {
+            throw new ServiceUnavailableException("문의 및 신고가 많아 접수하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public synchronized void flush() {
+        boolean saved = false;
+        while (true) {
+            List<PendingReport> batch = retry;
+            retry = new ArrayList<>();
+            if (batch.isEmpty()) {
+                pending.drainTo(batch, BATCH_SIZE);
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(batch));
+                log.debug("문의 및 신고 저장 : {}건", batch.size());
+            } catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+                retry = batch;
+                log.warn("문의 및 신고 {}건 저장 실패, 다음에 다시 시도합니다.", batch.size(), e);
+                break;
+            } catch (DataAccessException e) {
+                insertOneByOne(batch);
+            }
+            saved = true;
+            if (!retry.isEmpty()) {
+                break;
+            }
+        }
+
+        if (saved) {
+            reportSearchIndex.catchUp();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        if (!retry.isEmpty() || !pending.isEmpty()) {
+            log.error("종료 전에 문의 및 신고 {}건을 저장하지 못했습니다.", retry.size() + pending.size());
+        }
+    }
+
+    private void insert(List<PendingReport> reports) {
+        jdbcTemplate.batchUpdate(INSERT_REPORT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                PendingReport pendingReport = reports.get(i);
+                Report report = pendingReport.report;
+                ps.setString(1, report.getTitle());
+                ps.setString(2, report.getContent());
+                ps.setString(3, report.getWriterName());
+                ps.setString(4, report.getUserId());
+                ps.setTimestamp(5, Timestamp.valueOf(pendingReport.createDate));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return reports.size();
+            }
+        });
+    }
+
+    private void insertOneByOne(List<PendingReport> reports) {
+        for (PendingReport report : reports) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(report)));
+            } catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+                retry.add(report);
+            } catch (DataAccessException e) {
+                log.error("문의 및 신고를 저장하지 못했습니다. 학번 : {}, 제목 : {}",
+                    report.report.getUserId(), report.report.getTitle(), e);
+            }
+        }
+    }
+
+    /**
+     * 접수된 신고와 접수 시각 (저장 시 작성일로 사용)
+     */
+    @AllArgsConstructor
+    private static class PendingReport {
+        private final Report report;
+        private final LocalDateTime createDate;
+    }
+}
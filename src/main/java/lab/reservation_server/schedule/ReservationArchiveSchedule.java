@@ -0,0 +1,96 @@
+package lab.reservation_server.schedule;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import lab.reservation_server.repository.ReservationArchiveRepository;
+import lab.reservation_server.schedule.lease.LeaseManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 매일 새벽 horizonDays일 전에 끝난 예약을 보관 테이블(reservation_archive)로 옮긴다.
+ * 예약 테이블에는 최근 예약만 남으므로 날짜 조건이 없는 오늘 예약 조회(좌석 수, 현재 이용 좌석 등)도 작은 테이블만 읽는다.
+ *
+ * chunkSize건 단위로 트랜잭션을 나눠서 옮기고(insert ... select 후 delete), 묶음마다 lease를 연장한다.
+ * 여러 서버 중 lease를 가진 한 서버만 실행한다.
+ */
+@Slf4j
+@Component
+public class ReservationArchiveSchedule {
+
+    private static final String LEASE_NAME = "reservation-archive";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(10);
+
+    /**
+     * 보관 테이블로 옮긴 예약은 예약 테이블에서 지워지므로, 아직 그 예약 id를 쓰는 타이머나 연장 알림이 없어야 한다.
+     * 타이머(ReservationLifecycleScheduler)는 늦어도 endTime에 울리고 재구성 시에도 endTime이 지나지 않은 예약만 읽는다.
+     * 연장 알림 선점(claimExtensionReminder)과 재전송은 extensionTime부터 몇 분 안에 끝난다.
+     * 최소 2일이면 가장 최근에 옮기는 예약도 끝난지 하루 이상 지났으므로, 서버가 멈췄다 돌아오거나 서버 간 시간 차이가 있어도
+     * 남은 타이머, 알림이 옮긴 예약을 찾지 못하는 일이 없다.
+     */
+    private static final int MIN_HORIZON_DAYS = 2;
+
+    private final ReservationArchiveRepository reservationArchiveRepository;
+    private final LeaseManager leaseManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonDays;
+    private final int chunkSize;
+
+    public ReservationArchiveSchedule(ReservationArchiveRepository reservationArchiveRepository,
+                                      LeaseManager leaseManager, PlatformTransactionManager transactionManager,
+                                      @Value("${lab.reservation-archive.horizon-days:30}") int horizonDays,
+                                      @Value("${lab.reservation-archive.chunk-size:1000}") int chunkSize) {
+        this.reservationArchiveRepository = reservationArchiveRepository;
+        this.leaseManager = leaseManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 오늘 예약과 타이머, 연장 알림이 아직 참조할 수 있는 예약은 예약 테이블에 남아야 한다. (MIN_HORIZON_DAYS 참고)
+        this.horizonDays = Math.max(MIN_HORIZON_DAYS, horizonDays);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 보관 테이블을 읽는 다른 시작 작업(ReservationAnalyticsStore)보다 먼저 만든다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void prepareTable() {
+        reservationArchiveRepository.createTableIfNotExists();
+    }
+
+    @Scheduled(cron = "${lab.reservation-archive.cron:0 30 3 * * *}")
+    public void archive() {
+        leaseManager.runExclusively(LEASE_NAME, LEASE_TTL, this::moveOldReservations);
+    }
+
+    private void moveOldReservations() {
+        LocalDateTime cutoff = LocalDate.now().minusDays(horizonDays).atStartOfDay();
+
+        // 옮길 예약이 들어갈 달의 partition을 먼저 만든다.
+        reservationArchiveRepository.findOldestStartTime(cutoff).ifPresent(oldest ->
+            reservationArchiveRepository.ensurePartitions(YearMonth.from(oldest), YearMonth.from(cutoff).plusMonths(1)));
+
+        int total = 0;
+        int moved;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            moved = transactionTemplate.execute(status -> {
+                List<Long> ids = reservationArchiveRepository.findArchivableIds(cutoff, chunkSize);
+                return reservationArchiveRepository.move(ids, now);
+            });
+            total += moved;
+        } while (moved == chunkSize && leaseManager.renew(LEASE_NAME, LEASE_TTL));
+
+        log.info("지난 예약 보관 완료 : {}건 ({} 이전 종료)", total, cutoff);
+    }
+}
@@ -0,0 +1,51 @@
+package lab.reservation_server.schedule;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 예약의 시간 흐름에 따라 발생하는 이벤트
+ * ReservationLifecycleScheduler가 해당 시각이 되면 ApplicationEventPublisher를 통해서 발행한다.
+ */
+@Getter
+@AllArgsConstructor
+public class ReservationLifecycleEvent {
+
+    public enum Type {
+        /**
+         * 이용 시작 10분 전 알림
+         */
+        REMINDER,
+
+        /**
+         * 연장 가능 시간(extensionTime) 도달
+         */
+        EXTENSION_WINDOW_OPEN,
+
+        /**
+         * 이용 종료 시간(endTime) 도달, 좌석 반납
+         */
+        SEAT_FREED,
+
+        /**
+         * 16시 30분 이후에 시작하는 예약의 종료 시간 도달, 방장 인계가 필요할 수 있는 시점
+         */
+        MANAGER_HANDOVER
+    }
+
+    private Type type;
+
+    private Long reservationId;
+
+    private Long memberId;
+
+    private Long labId;
+
+    private String seatNum;
+
+    /**
+     * 이벤트가 예정되어 있던 시각
+     */
+    private LocalDateTime time;
+}
@@ -0,0 +1,164 @@
+package lab.reservation_server.schedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lab.reservation_server.domain.Reservation;
+import lab.reservation_server.repository.ReservationRepository;
+import lab.reservation_server.schedule.ReservationLifecycleEvent.Type;
+import lab.reservation_server.schedule.timer.HierarchicalTimer;
+import lab.reservation_server.schedule.timer.TimerTaskEntry;
+import lab.reservation_server.support.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 오늘 예약들의 시작 전, 연장 가능 시간, 종료 시간을 메모리의 타이밍 휠에 등록해두고
+ * 해당 시각이 되면 ReservationLifecycleEvent를 발행한다.
+ * 지금 이벤트를 받는 곳은 연장 알림(ExtensionReminderSchedule, EXTENSION_WINDOW_OPEN)뿐이고, 나머지 이벤트는 발행만 한다.
+ *
+ * 타이밍 휠은 서버마다 따로 있다. 예약, 연장, 취소는 요청을 처리한 서버의 타이머만 바꾸므로
+ * 다른 서버에는 취소, 연장된 예약의 이전 타이머가 남아있을 수 있다.
+ * 따라서 이벤트는 "이 시각에 확인해볼 예약"으로만 쓰고, 받는 쪽에서 DB로 예약 상태를 다시 확인해야 한다.
+ * (연장 알림은 claimExtensionReminder로 예약과 extensionTime이 그대로인지 확인하고 한 서버만 보낸다)
+ *
+ * 서버 시작 시점에 오늘 시작하는, 아직 끝나지 않은 예약으로 다시 구성된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationLifecycleScheduler {
+
+    private static final long REMINDER_BEFORE_MINUTES = 10L;
+    private static final LocalTime MANAGER_TIME = LocalTime.of(16, 30);
+
+    private final ReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final HierarchicalTimer<ReservationLifecycleEvent> timer =
+        new HierarchicalTimer<>(System.currentTimeMillis());
+
+    /**
+     * 예약 id별로 등록된 타이머, 취소 혹은 연장 시 O(1)로 제거하기 위해 보관한다.
+     */
+    private final Map<Long, List<TimerTaskEntry<ReservationLifecycleEvent>>> timers = new ConcurrentHashMap<>();
+
+    /**
+     * 서버가 시작되면 오늘까지 시작하고 아직 끝나지 않은 예약으로 타이밍 휠을 구성한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Reservation> reservations =
+            reservationRepository.findNotEndedStartingBefore(now, LocalDate.now().plusDays(1).atStartOfDay());
+
+        // 이미 커밋된 예약이므로 커밋을 기다리지 않고 바로 등록한다.
+        reservations.forEach(reservation -> register(reservation.getId(), lifecycleOf(reservation)));
+
+        log.info("lifecycle timer 구성 완료, 예약 {}건 , 타이머 {}개", reservations.size(), timer.size());
+    }
+
+    /**
+     * 예약의 라이프사이클 타이머를 등록한다. 이미 등록된 예약이면 기존 타이머를 취소하고 다시 등록한다.
+     * 트랜잭션 안에서 호출되면 커밋된 후에 등록하므로, 롤백된 예약의 타이머는 남지 않는다.
+     */
+    public void schedule(Reservation reservation) {
+        // 이벤트는 지금 만들어두고(엔티티는 커밋 후에 쓰지 않는다), 타이머 등록만 커밋 후로 미룬다.
+        Long reservationId = reservation.getId();
+        List<ReservationLifecycleEvent> events = lifecycleOf(reservation);
+        TransactionHooks.afterCommit(() -> register(reservationId, events));
+    }
+
+    /**
+     * 예약 취소(반납), 거절 시 등록된 타이머를 모두 취소한다.
+     * 트랜잭션 안에서 호출되면 커밋된 후에 취소하므로, 롤백되면 타이머는 그대로 남는다.
+     */
+    public void cancel(Long reservationId) {
+        TransactionHooks.afterCommit(() -> unregister(reservationId));
+    }
+
+    public void cancelAll(Collection<Long> reservationIds) {
+        List<Long> ids = List.copyOf(reservationIds);
+        TransactionHooks.afterCommit(() -> ids.forEach(this::unregister));
+    }
+
+    /**
+     * 1초마다 시계를 진행시키고, 만료된 이벤트를 발행한다.
+     * 이벤트 발행은 타이머의 lock 밖에서 진행된다.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void tick() {
+        List<ReservationLifecycleEvent> events = timer.advanceClock(System.currentTimeMillis());
+
+        for (ReservationLifecycleEvent event : events) {
+            if (event.getType() == Type.SEAT_FREED) {
+                timers.remove(event.getReservationId());
+            }
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (RuntimeException e) {
+                log.warn("lifecycle event 처리 실패 {} , reservation : {}", event.getType(), event.getReservationId(), e);
+            }
+        }
+    }
+
+    public int pendingTimers() {
+        return timer.size();
+    }
+
+    private List<ReservationLifecycleEvent> lifecycleOf(Reservation reservation) {
+        List<ReservationLifecycleEvent> events = new ArrayList<>(4);
+        LocalDateTime now = LocalDateTime.now();
+
+        LocalDateTime reminderTime = reservation.getStartTime().minusMinutes(REMINDER_BEFORE_MINUTES);
+        if (reminderTime.isAfter(now)) {
+            events.add(event(Type.REMINDER, reservation, reminderTime));
+        }
+        if (reservation.getExtensionTime().isAfter(now)) {
+            events.add(event(Type.EXTENSION_WINDOW_OPEN, reservation, reservation.getExtensionTime()));
+        }
+        if (!reservation.getStartTime().toLocalTime().isBefore(MANAGER_TIME)) {
+            events.add(event(Type.MANAGER_HANDOVER, reservation, reservation.getEndTime()));
+        }
+        // 마지막 이벤트는 항상 좌석 반납
+        events.add(event(Type.SEAT_FREED, reservation, reservation.getEndTime()));
+        return events;
+    }
+
+    private ReservationLifecycleEvent event(Type type, Reservation reservation, LocalDateTime time) {
+        return new ReservationLifecycleEvent(type, reservation.getId(),
+            reservation.getMember().getId(), reservation.getLab().getId(), reservation.getSeatNum(), time);
+    }
+
+    private void register(Long reservationId, List<ReservationLifecycleEvent> events) {
+        unregister(reservationId);
+
+        List<TimerTaskEntry<ReservationLifecycleEvent>> entries = new ArrayList<>(events.size());
+        events.forEach(event -> entries.add(timer.add(toEpochMilli(event.getTime()), event)));
+        timers.put(reservationId, entries);
+    }
+
+    private void unregister(Long reservationId) {
+        List<TimerTaskEntry<ReservationLifecycleEvent>> entries = timers.remove(reservationId);
+        if (entries != null) {
+            entries.forEach(timer::cancel);
+        }
+    }
+
+    private long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
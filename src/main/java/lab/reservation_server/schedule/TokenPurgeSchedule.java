@@ -0,0 +1,34 @@
+package lab.reservation_server.schedule;
+
+import java.time.Duration;
+import lab.reservation_server.schedule.lease.LeaseManager;
+import lab.reservation_server.service.TokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 매일 새벽 3시 30분에 만료된 토큰 삭제
+ * 토큰 값은 2^24개를 돌아가며 사용하기 때문에 만료된 토큰을 지워두어야 한다.
+ * 여러 서버 중 lease를 가진 한 서버만 실행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenPurgeSchedule {
+
+    private static final String LEASE_NAME = "token-purge";
+    private static final Duration LEASE_TTL = Duration.ofMinutes(30);
+
+    private final TokenService tokenService;
+    private final LeaseManager leaseManager;
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeExpiredTokens() {
+        leaseManager.runExclusively(LEASE_NAME, LEASE_TTL, () -> {
+            int deleted = tokenService.purgeExpiredTokens();
+            log.info("만료된 토큰 삭제 완료 : {}개", deleted);
+        });
+    }
+}
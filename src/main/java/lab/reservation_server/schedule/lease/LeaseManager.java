@@ -0,0 +1,146 @@
+package lab.reservation_server.schedule.lease;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.persistence.PersistenceContext;
+import lab.reservation_server.domain.SchedulerLease;
+import lab.reservation_server.repository.SchedulerLeaseRepository;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * DB의 scheduler_lease 행으로 여러 서버 중 한 서버만 스케줄 작업을 실행하도록 한다.
+ *
+ * 사용법
+ * leaseManager.runExclusively("member-purge", Duration.ofMinutes(30), () -> { ... });
+ *
+ * 작업이 끝나도 lease를 바로 반납하지 않는다. 서버 간 시간 차이로 다른 서버의 cron이 조금 늦게 실행되어도
+ * 같은 회차를 다시 실행하지 않도록, ttl은 작업 주기보다 짧고 작업 시간 + 서버 간 시간 차이보다 길게 잡는다.
+ * ttl보다 오래 걸릴 수 있는 작업은 중간에 renew를 호출한다.
+ *
+ * 결과는 scheduler.lease (name, result = acquired | renewed | skipped | lost) 카운터로 확인
+ */
+@Slf4j
+@Component
+public class LeaseManager {
+
+    @Getter
+    private final String owner;
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public LeaseManager(SchedulerLeaseRepository leaseRepository, PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry, @Value("${lab.scheduler.owner:}") String owner) {
+        this.leaseRepository = leaseRepository;
+        this.meterRegistry = meterRegistry;
+        this.owner = owner.isBlank() ? defaultOwner() : owner;
+
+        // 호출하는 쪽의 트랜잭션과 상관없이 바로 커밋되어야 다른 서버에서 보인다.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * lease를 가져온 경우에만 job을 실행한다.
+     * @return 실행 여부
+     */
+    public boolean runExclusively(String name, Duration ttl, Runnable job) {
+        if (!tryAcquire(name, ttl)) {
+            return false;
+        }
+        job.run();
+        return true;
+    }
+
+    /**
+     * lease가 없거나, 만료되었거나, 이미 내가 가지고 있는 경우 가져온다.
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(ttl);
+
+        Integer updated = transactionTemplate.execute(status ->
+            leaseRepository.tryAcquire(name, owner, expiresAt, now));
+
+        if (updated != null && updated == 1) {
+            count(name, "acquired");
+            return true;
+        }
+
+        // 처음 실행되는 작업이라 행이 없는 경우, 동시에 insert하면 primary key 중복으로 한 서버만 성공한다.
+        // save(merge)는 다른 서버가 먼저 넣은 행을 덮어쓸 수 있으므로 persist로 insert만 시도한다.
+        try {
+            Boolean inserted = transactionTemplate.execute(status -> {
+                if (leaseRepository.existsById(name)) {
+                    return false;
+                }
+                entityManager.persist(new SchedulerLease(name, owner, expiresAt));
+                entityManager.flush();
+                return true;
+            });
+            if (Boolean.TRUE.equals(inserted)) {
+                count(name, "acquired");
+                return true;
+            }
+        } catch (DataIntegrityViolationException | PersistenceException e) {
+            log.debug("{} lease를 다른 서버가 먼저 생성했습니다.", name);
+        }
+
+        count(name, "skipped");
+        return false;
+    }
+
+    /**
+     * 오래 걸리는 작업 중간에 만료 시간을 연장한다.
+     * false가 반환되면 lease를 잃은 것이므로 작업을 멈춰야 한다.
+     */
+    public boolean renew(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Integer updated = transactionTemplate.execute(status ->
+            leaseRepository.renew(name, owner, now.plus(ttl), now));
+
+        boolean renewed = updated != null && updated == 1;
+        count(name, renewed ? "renewed" : "lost");
+        if (!renewed) {
+            log.warn("{} lease를 잃었습니다. owner : {}", name, owner);
+        }
+        return renewed;
+    }
+
+    private void count(String name, String result) {
+        Counter.builder("scheduler.lease")
+            .tag("name", name)
+            .tag("result", result)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private static String defaultOwner() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,79 @@
+package lab.reservation_server.schedule.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계층형 타이밍 휠 기반의 타이머
+ * 타이머 등록과 취소는 O(1)이며, 만료된 타이머는 advanceClock을 호출하는 쪽에서 꺼내간다.
+ * 기본 tick은 1초, 한 단계의 휠은 60칸(1초 -> 1분 -> 1시간 -> ...)으로 구성된다.
+ * 만료 시각의 정밀도는 tick 하나(1초) 이내이다.
+ */
+public class HierarchicalTimer<T> {
+
+    private static final long DEFAULT_TICK_MS = 1000L;
+    private static final int DEFAULT_WHEEL_SIZE = 60;
+
+    private final TimingWheel<T> timingWheel;
+
+    private final List<TimerTaskEntry<T>> expired = new ArrayList<>();
+
+    private int size = 0;
+
+    public HierarchicalTimer(long startMs) {
+        this(DEFAULT_TICK_MS, DEFAULT_WHEEL_SIZE, startMs);
+    }
+
+    public HierarchicalTimer(long tickMs, int wheelSize, long startMs) {
+        this.timingWheel = new TimingWheel<>(tickMs, wheelSize, startMs);
+    }
+
+    /**
+     * 타이머 등록, 이미 만료된 시간이라면 다음 advanceClock에서 바로 꺼내진다.
+     */
+    public synchronized TimerTaskEntry<T> add(long expirationMs, T payload) {
+        TimerTaskEntry<T> entry = new TimerTaskEntry<>(expirationMs, payload);
+        if (!timingWheel.add(entry)) {
+            expired.add(entry);
+        }
+        size++;
+        return entry;
+    }
+
+    /**
+     * 등록된 타이머 취소, 이미 만료되어 꺼내간 타이머는 size에서 빠졌으므로 무시한다.
+     */
+    public synchronized void cancel(TimerTaskEntry<T> entry) {
+        if (entry == null || entry.isCancelled() || entry.isExpired()) {
+            return;
+        }
+        entry.cancel();
+        size--;
+    }
+
+    /**
+     * 현재 시간까지 시계를 진행시키고, 만료된 타이머의 payload를 반환한다. (tick 단위로 묶여서 나온다)
+     */
+    public synchronized List<T> advanceClock(long nowMs) {
+        timingWheel.advanceClock(nowMs, entry -> {
+            if (!timingWheel.add(entry)) {
+                expired.add(entry);
+            }
+        });
+
+        List<T> payloads = new ArrayList<>(expired.size());
+        for (TimerTaskEntry<T> entry : expired) {
+            if (!entry.isCancelled()) {
+                entry.expire();
+                payloads.add(entry.getPayload());
+                size--;
+            }
+        }
+        expired.clear();
+        return payloads;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,51 @@
+package lab.reservation_server.schedule.timer;
+
+import lombok.Getter;
+
+/**
+ * 타이밍 휠의 버킷(TimerTaskList)에 들어가는 하나의 타이머
+ * 이중 연결 리스트의 노드이기 때문에 자신이 속한 리스트에서 O(1)로 제거(취소)할 수 있다.
+ */
+@Getter
+public class TimerTaskEntry<T> {
+
+    /**
+     * 타이머가 만료되는 시간 (epoch millis)
+     */
+    private final long expirationMs;
+
+    /**
+     * 타이머가 만료될 때 전달할 데이터
+     */
+    private final T payload;
+
+    TimerTaskList<T> list;
+    TimerTaskEntry<T> prev;
+    TimerTaskEntry<T> next;
+
+    private boolean cancelled = false;
+
+    /**
+     * advanceClock에서 이미 꺼내간(만료 처리된) 타이머인지 여부
+     */
+    private boolean expired = false;
+
+    TimerTaskEntry(long expirationMs, T payload) {
+        this.expirationMs = expirationMs;
+        this.payload = payload;
+    }
+
+    /**
+     * 속해있는 버킷에서 자신을 제거한다.
+     */
+    void cancel() {
+        this.cancelled = true;
+        if (list != null) {
+            list.remove(this);
+        }
+    }
+
+    void expire() {
+        this.expired = true;
+    }
+}
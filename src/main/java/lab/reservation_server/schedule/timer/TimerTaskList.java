@@ -0,0 +1,49 @@
+package lab.reservation_server.schedule.timer;
+
+import java.util.function.Consumer;
+
+/**
+ * 타이밍 휠의 한 칸(버킷)
+ * sentinel 노드를 가진 원형 이중 연결 리스트로 구성하여 추가, 삭제를 O(1)로 처리한다.
+ */
+class TimerTaskList<T> {
+
+    private final TimerTaskEntry<T> root = new TimerTaskEntry<>(-1L, null);
+
+    TimerTaskList() {
+        root.next = root;
+        root.prev = root;
+    }
+
+    void add(TimerTaskEntry<T> entry) {
+        TimerTaskEntry<T> tail = root.prev;
+        entry.next = root;
+        entry.prev = tail;
+        entry.list = this;
+        tail.next = entry;
+        root.prev = entry;
+    }
+
+    void remove(TimerTaskEntry<T> entry) {
+        if (entry.list != this) {
+            return;
+        }
+        entry.next.prev = entry.prev;
+        entry.prev.next = entry.next;
+        entry.next = null;
+        entry.prev = null;
+        entry.list = null;
+    }
+
+    /**
+     * 버킷의 모든 타이머를 꺼내서 넘겨준다. (만료 처리 혹은 하위 휠로 재배치)
+     */
+    void flush(Consumer<TimerTaskEntry<T>> consumer) {
+        TimerTaskEntry<T> head = root.next;
+        while (head != root) {
+            remove(head);
+            consumer.accept(head);
+            head = root.next;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package lab.reservation_server.schedule.timer;
+
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠의 한 단계
+ * tickMs * wheelSize 범위를 넘어서는 타이머는 상위 휠(overflowWheel)에 맡기고,
+ * 상위 휠의 버킷이 만료되면 하위 휠로 다시 내려온다.
+ */
+class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long interval;
+    private final TimerTaskList<T>[] buckets;
+
+    private long currentTime;
+    private TimingWheel<T> overflowWheel;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.currentTime = startMs - (startMs % tickMs);
+        this.buckets = new TimerTaskList[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new TimerTaskList<>();
+        }
+    }
+
+    /**
+     * 타이머를 알맞은 버킷에 넣는다.
+     * @return 이미 만료된 타이머라면 false
+     */
+    boolean add(TimerTaskEntry<T> entry) {
+        long expiration = entry.getExpirationMs();
+
+        if (entry.isCancelled()) {
+            return true;
+        }
+        if (expiration < currentTime + tickMs) {
+            // 이미 만료
+            return false;
+        }
+        if (expiration < currentTime + interval) {
+            long virtualId = expiration / tickMs;
+            buckets[(int) (virtualId % wheelSize)].add(entry);
+            return true;
+        }
+        if (overflowWheel == null) {
+            overflowWheel = new TimingWheel<>(interval, wheelSize, currentTime);
+        }
+        return overflowWheel.add(entry);
+    }
+
+    /**
+     * 시간을 timeMs까지 tick 단위로 진행시키면서 만료된 버킷을 비운다.
+     * 버킷에서 나온 타이머는 reinsert를 통해서 만료 처리 되거나 하위 휠에 다시 배치된다.
+     */
+    void advanceClock(long timeMs, Consumer<TimerTaskEntry<T>> reinsert) {
+        while (timeMs >= currentTime + tickMs) {
+            currentTime += tickMs;
+            buckets[(int) ((currentTime / tickMs) % wheelSize)].flush(reinsert);
+            if (overflowWheel != null) {
+                overflowWheel.advanceClock(currentTime, reinsert);
+            }
+        }
+    }
+}
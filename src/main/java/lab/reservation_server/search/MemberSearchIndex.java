@@ -0,0 +1,192 @@
+package lab.reservation_server.search;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lab.reservation_server.dto.response.member.MemberSearchResult;
+import lab.reservation_server.repository.MemberRepository;
+import lab.reservation_server.support.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 학번, 이름, 전화번호 앞부분으로 회원을 찾는 메모리 인덱스 (조교 화면 자동완성용)
+ *
+ * 필드마다 "정규화된 값 + 구분자 + 회원 id"를 key로 정렬된 map에 넣어두고,
+ * 접두어로 시작하는 key 범위(subMap)만 앞에서부터 읽는다. 회원 수와 상관없이 결과 개수만큼만 읽는다.
+ *
+ * 서버 시작 시 한번 전체를 읽어서 만들고, 이후에는 회원가입, 정보 수정, 탈퇴가 커밋된 뒤 반영한다.
+ * 조회는 lock 없이 하고, 변경은 한 회원의 key들이 섞이지 않도록 synchronized로 처리한다.
+ *
+ * 인덱스는 서버마다 있으므로 다른 서버에서 가입, 수정된 회원은 sync()가 modifiedDate로 주기적으로 가져와 반영한다.
+ * (MemberExistenceFilter.sync와 같은 방식, 이전 sync 시점보다 SYNC_OVERLAP만큼 앞에서부터 다시 읽는다)
+ * 삭제는 modifiedDate로 알 수 없으므로 removeDeleted()가 DB의 전체 id와 비교해서 지운다.
+ * 그 사이(sync는 최대 syncMs, 삭제는 최대 reconcileMs)에는 다른 서버의 변경이 검색 결과에 늦게 보일 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberSearchIndex {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final char MAX_CHAR = '\uffff';
+
+    /**
+     * 서버 간 시계 차이와 커밋 지연으로 놓치는 회원이 없도록 이전 sync 시점보다 이만큼 앞에서부터 다시 읽는다.
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final MemberRepository memberRepository;
+
+    private final NavigableMap<String, MemberSearchResult> byUserId = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, MemberSearchResult> byName = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, MemberSearchResult> byPhoneNum = new ConcurrentSkipListMap<>();
+
+    /**
+     * 회원 id -> 인덱스에 들어가 있는 값, 수정, 삭제 시 이전 key를 지우기 위해 사용
+     */
+    private final Map<Long, MemberSearchResult> indexed = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime lastSync;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<MemberSearchResult> members = memberRepository.findAllSearchResults();
+        members.forEach(this::index);
+        lastSync = startedAt;
+        log.info("회원 검색 인덱스 생성 완료 : {}명", members.size());
+    }
+
+    /**
+     * 다른 서버에서 가입, 수정된 회원을 가져와 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${lab.member-search.sync-ms:5000}")
+    public void sync() {
+        LocalDateTime since = lastSync;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        memberRepository.findSearchResultsModifiedSince(since.minus(SYNC_OVERLAP)).forEach(this::index);
+        lastSync = startedAt;
+    }
+
+    /**
+     * 다른 서버에서 삭제된 회원을 인덱스에서 지운다.
+     * 조회 이후에 가입한 회원은 id가 조회된 가장 큰 id보다 크므로 지우지 않는다. (IDENTITY)
+     */
+    @Scheduled(fixedDelayString = "${lab.member-search.reconcile-ms:600000}")
+    public void removeDeleted() {
+        if (lastSync == null) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>(memberRepository.findAllIds());
+        long maxId = ids.stream().mapToLong(Long::longValue).max().orElse(0L);
+
+        int removed = 0;
+        for (Long memberId : List.copyOf(indexed.keySet())) {
+            if (memberId <= maxId && !ids.contains(memberId)) {
+                unindex(memberId);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.info("회원 검색 인덱스에서 삭제된 회원 제거 : {}명", removed);
+        }
+    }
+
+    /**
+     * 접두어로 시작하는 회원을 학번, 이름, 전화번호 순으로 최대 limit명 반환
+     */
+    public List<MemberSearchResult> search(String prefix, int limit) {
+        Map<Long, MemberSearchResult> results = new LinkedHashMap<>();
+
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        collect(byUserId, normalized, limit, results);
+        collect(byName, normalized, limit, results);
+
+        String digits = digits(prefix);
+        if (!digits.isEmpty()) {
+            collect(byPhoneNum, digits, limit, results);
+        }
+
+        return new ArrayList<>(results.values());
+    }
+
+    /**
+     * 회원 추가, 수정 반영. 트랜잭션 안에서 호출하면 커밋된 뒤에 반영한다.
+     */
+    public void put(MemberSearchResult member) {
+        TransactionHooks.afterCommit(() -> index(member));
+    }
+
+    /**
+     * 회원 탈퇴 반영. 트랜잭션 안에서 호출하면 커밋된 뒤에 반영한다.
+     */
+    public void remove(Long memberId) {
+        TransactionHooks.afterCommit(() -> unindex(memberId));
+    }
+
+    public int size() {
+        return indexed.size();
+    }
+
+    private synchronized void index(MemberSearchResult member) {
+        unindex(member.getId());
+
+        byUserId.put(key(normalize(member.getUserId()), member.getId()), member);
+        byName.put(key(normalize(member.getName()), member.getId()), member);
+        byPhoneNum.put(key(digits(member.getPhoneNum()), member.getId()), member);
+        indexed.put(member.getId(), member);
+    }
+
+    private synchronized void unindex(Long memberId) {
+        MemberSearchResult old = indexed.remove(memberId);
+        if (old == null) {
+            return;
+        }
+        byUserId.remove(key(normalize(old.getUserId()), memberId));
+        byName.remove(key(normalize(old.getName()), memberId));
+        byPhoneNum.remove(key(digits(old.getPhoneNum()), memberId));
+    }
+
+    private void collect(NavigableMap<String, MemberSearchResult> index, String prefix, int limit,
+                         Map<Long, MemberSearchResult> results) {
+        for (MemberSearchResult member : index.subMap(prefix, true, prefix + MAX_CHAR, true).values()) {
+            if (results.size() >= limit) {
+                return;
+            }
+            results.putIfAbsent(member.getId(), member);
+        }
+    }
+
+    private static String key(String value, Long memberId) {
+        return value + SEPARATOR + memberId;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String digits(String value) {
+        return value == null ? "" : value.replaceAll("[^0-9]", "");
+    }
+}
@@ -0,0 +1,355 @@
+package lab.reservation_server.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
+import lab.reservation_server.domain.Report;
+import lab.reservation_server.dto.response.report.ReportSummary;
+import lab.reservation_server.repository.ReportRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 문의 및 신고 제목, 내용 검색용 메모리 역색인 (조교가 좌석 번호, 호실, 장비 이름으로 신고를 분류할 때 사용)
+ *
+ * 한국어는 조사가 붙고 띄어쓰기가 일정하지 않아서 단어 대신 글자 2개씩 자른 bigram을 색인어로 쓴다.
+ * ("모니터가" -> 모니, 니터, 터가) 검색어도 같은 방식으로 잘라서 모든 bigram이 들어있는 신고만
+ * TF-IDF 점수 순으로 반환한다. 제목에 나온 단어는 TITLE_WEIGHT배로 센다.
+ *
+ * 아직 색인하지 않은 신고를 DB에서 읽어서 추가하고(catchUp), 주기적으로 색인을 파일(snapshot)로 저장한다.
+ * 서버 시작 시에는 snapshot을 읽은 뒤 catchUp하고, 이후에는 신고 접수 대기열(ReportWriteBehind)이 저장할 때마다,
+ * 그리고 다른 서버에 접수된 신고를 위해 주기적으로(lab.report-index.catch-up-interval-ms) catchUp한다.
+ *
+ * id는 insert 시점에 정해지고 commit은 서버마다 따로 일어나므로, 작은 id가 큰 id보다 늦게 보일 수 있다.
+ * 그래서 색인된 마지막 id부터가 아니라 CATCH_UP_OVERLAP개 앞의 id부터 다시 훑고, 그 중 색인에 없는 신고만 읽어온다.
+ * 훑을 때는 id만 읽으므로(PK index) 겹치는 구간을 매번 다시 읽어도 비용이 작다.
+ * 신고는 수정, 삭제가 없으므로 추가만 처리한다.
+ */
+@Slf4j
+@Component
+public class ReportSearchIndex {
+
+    private static final int SNAPSHOT_MAGIC = 0x52534958; // "RSIX"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int CATCH_UP_CHUNK_SIZE = 500;
+    /**
+     * 늦게 commit된 신고를 찾기 위해 다시 훑는 id 수, 서버마다 한번에 저장하는 최대 건수(ReportWriteBehind) * 서버 수보다 커야 한다.
+     */
+    private static final long CATCH_UP_OVERLAP = 5000;
+    private static final int TITLE_WEIGHT = 3;
+
+    private final ReportRepository reportRepository;
+    private final Path snapshotPath;
+
+    /**
+     * 색인어 -> (신고 id -> 가중 빈도)
+     */
+    private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+
+    /**
+     * 신고 id -> 목록 표시용 요약, snapshot에 같이 저장한다.
+     */
+    private final Map<Long, ReportSummary> documents = new ConcurrentHashMap<>();
+
+    /**
+     * 신고 id -> (색인어 -> 가중 빈도), snapshot을 다시 쓸 때 내용을 다시 자르지 않기 위해 보관
+     */
+    private final Map<Long, Map<String, Integer>> termFrequencies = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    private volatile long lastIndexedId = 0L;
+
+    public ReportSearchIndex(ReportRepository reportRepository,
+                             @Value("${lab.report-index.snapshot:report-index.snapshot}") String snapshotPath) {
+        this.reportRepository = reportRepository;
+        this.snapshotPath = Paths.get(snapshotPath);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (Files.exists(snapshotPath)) {
+            try {
+                loadSnapshot();
+                log.info("신고 검색 인덱스 snapshot 로딩 : {}건 (마지막 id {})", documents.size(), lastIndexedId);
+            } catch (IOException | RuntimeException e) {
+                log.warn("신고 검색 인덱스 snapshot을 읽지 못해 전체를 다시 색인합니다.", e);
+                clear();
+            }
+        }
+
+        int caughtUp = catchUp();
+        log.info("신고 검색 인덱스 생성 완료 : {}건 (snapshot 이후 {}건)", documents.size(), caughtUp);
+    }
+
+    /**
+     * 검색어의 bigram이 모두 들어있는 신고를 점수 순으로 최대 limit건 반환
+     */
+    public List<ReportSummary> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // 문서 수가 가장 적은 색인어부터 교집합을 구한다.
+        List<Map<Long, Integer>> lists = new ArrayList<>();
+        for (String term : terms) {
+            Map<Long, Integer> list = postings.get(term);
+            if (list == null || list.isEmpty()) {
+                return new ArrayList<>();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Map::size));
+
+        int total = documents.size();
+        Map<Long, Double> scores = new HashMap<>();
+        for (Long id : lists.get(0).keySet()) {
+            double score = 0;
+            boolean matched = true;
+            for (Map<Long, Integer> list : lists) {
+                Integer tf = list.get(id);
+                if (tf == null) {
+                    matched = false;
+                    break;
+                }
+                score += (1 + Math.log(tf)) * Math.log(1 + (double) total / list.size());
+            }
+            if (matched) {
+                scores.put(id, score);
+            }
+        }
+
+        List<ReportSummary> results = new ArrayList<>();
+        scores.entrySet().stream()
+            .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+            .limit(limit)
+            .forEach(entry -> {
+                ReportSummary summary = documents.get(entry.getKey());
+                if (summary != null) {
+                    results.add(summary);
+                }
+            });
+        return results;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * 변경이 있을 때만 snapshot 저장
+     */
+    @Scheduled(fixedDelayString = "${lab.report-index.snapshot-interval-ms:600000}",
+        initialDelayString = "${lab.report-index.snapshot-interval-ms:600000}")
+    public void saveSnapshotIfDirty() {
+        if (!dirty.compareAndSet(true, false)) {
+            return;
+        }
+        try {
+            saveSnapshot();
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("신고 검색 인덱스 snapshot 저장 실패", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        saveSnapshotIfDirty();
+    }
+
+    /**
+     * 다른 서버에서 접수된 신고는 이 서버의 ReportWriteBehind가 알려주지 않으므로 주기적으로 catchUp한다.
+     */
+    @Scheduled(fixedDelayString = "${lab.report-index.catch-up-interval-ms:10000}",
+        initialDelayString = "${lab.report-index.catch-up-interval-ms:10000}")
+    public void scheduledCatchUp() {
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            log.warn("신고 검색 인덱스 catchUp 실패", e);
+        }
+    }
+
+    /**
+     * (lastIndexedId - CATCH_UP_OVERLAP) 이후의 신고 id를 나눠 읽어서 색인에 없는 신고만 추가, 추가한 건수 반환
+     */
+    public synchronized int catchUp() {
+        long from = Math.max(0L, lastIndexedId - CATCH_UP_OVERLAP);
+        int count = 0;
+        while (true) {
+            List<Long> ids = reportRepository.findIdsByIdGreaterThan(from, PageRequest.of(0, CATCH_UP_CHUNK_SIZE));
+            List<Long> missing = new ArrayList<>();
+            for (Long id : ids) {
+                if (!documents.containsKey(id)) {
+                    missing.add(id);
+                }
+            }
+            if (!missing.isEmpty()) {
+                for (Report report : reportRepository.findAllById(missing)) {
+                    index(new ReportSummary(report.getId(), report.getTitle(), report.getWriterName(),
+                            report.getUserId(), report.getCreateDate()),
+                        termFrequencies(report.getTitle(), report.getContent()));
+                }
+                count += missing.size();
+            }
+            if (ids.size() < CATCH_UP_CHUNK_SIZE) {
+                if (count > 0) {
+                    dirty.set(true);
+                }
+                return count;
+            }
+            from = ids.get(ids.size() - 1);
+        }
+    }
+
+    private synchronized void index(ReportSummary summary, Map<String, Integer> frequencies) {
+        Long id = summary.getId();
+        if (documents.containsKey(id)) {
+            return;
+        }
+        frequencies.forEach((term, tf) ->
+            postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(id, tf));
+        termFrequencies.put(id, frequencies);
+        documents.put(id, summary);
+        lastIndexedId = Math.max(lastIndexedId, id);
+    }
+
+    private synchronized void clear() {
+        postings.clear();
+        documents.clear();
+        termFrequencies.clear();
+        lastIndexedId = 0L;
+    }
+
+    /**
+     * snapshot 형식 : magic, version, 문서 수, [id, 제목, 작성자, 학번, 작성일, 색인어 수, [색인어, 빈도]...]...
+     * 임시 파일에 다 쓴 다음 바꿔치기 하므로 저장 중에 서버가 죽어도 이전 snapshot은 남는다.
+     */
+    private synchronized void saveSnapshot() throws IOException {
+        Path parent = snapshotPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, "report-index", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(documents.size());
+            for (ReportSummary summary : documents.values()) {
+                out.writeLong(summary.getId());
+                writeString(out, summary.getTitle());
+                writeString(out, summary.getWriterName());
+                writeString(out, summary.getUserId());
+                writeString(out, summary.getCreateDate() == null ? null : summary.getCreateDate().toString());
+
+                Map<String, Integer> frequencies = termFrequencies.get(summary.getId());
+                out.writeInt(frequencies.size());
+                for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue());
+                }
+            }
+        }
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("신고 검색 인덱스 snapshot 저장 : {}건", documents.size());
+    }
+
+    private void loadSnapshot() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("지원하지 않는 snapshot 형식입니다.");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                String title = readString(in);
+                String writerName = readString(in);
+                String userId = readString(in);
+                String createDate = readString(in);
+
+                int termCount = in.readInt();
+                Map<String, Integer> frequencies = new HashMap<>(termCount * 2);
+                for (int j = 0; j < termCount; j++) {
+                    frequencies.put(in.readUTF(), in.readInt());
+                }
+                index(new ReportSummary(id, title, writerName, userId,
+                    createDate == null ? null : LocalDateTime.parse(createDate)), frequencies);
+            }
+        }
+    }
+
+    /**
+     * 제목과 내용을 색인어별 빈도로 변환, 제목은 TITLE_WEIGHT배로 센다.
+     */
+    static Map<String, Integer> termFrequencies(String title, String content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(title)) {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(content)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    /**
+     * 글자, 숫자가 아닌 문자로 나눈 뒤 각 조각을 bigram으로 자른다. 한 글자짜리 조각은 그대로 쓴다.
+     * ("A-12번 좌석" -> a, 12, 2번, 좌석)
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (word.length() == 1) {
+                terms.add(word);
+                continue;
+            }
+            for (int i = 0; i + 2 <= word.length(); i++) {
+                terms.add(word.substring(i, i + 2));
+            }
+        }
+        return terms;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,13 @@
+package lab.reservation_server.service;
+
+import java.time.YearMonth;
+import lab.reservation_server.dto.response.analytics.UtilisationReport;
+
+/**
+ * 지난 예약 통계
+ */
+public interface AnalyticsService {
+
+  UtilisationReport getUtilisation(YearMonth from, YearMonth to);
+
+}
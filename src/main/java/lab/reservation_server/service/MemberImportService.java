@@ -0,0 +1,10 @@
+package lab.reservation_server.service;
+
+import java.io.InputStream;
+import lab.reservation_server.auth.SessionMember;
+import lab.reservation_server.dto.response.member.MemberImportResult;
+
+public interface MemberImportService {
+
+    MemberImportResult importMembers(InputStream csv, SessionMember session);
+}
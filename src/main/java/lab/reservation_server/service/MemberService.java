@@ -1,10 +1,15 @@
 package lab.reservation_server.service;
 
+import java.util.List;
+import lab.reservation_server.auth.SessionMember;
 import lab.reservation_server.dto.request.member.MemberLogin;
 import lab.reservation_server.dto.request.member.MemberSignUp;
 import lab.reservation_server.dto.request.member.MemberUpdate;
 import lab.reservation_server.dto.request.member.UserIdCheck;
 import lab.reservation_server.dto.response.member.MemberInfo;
+import lab.reservation_server.dto.response.member.MemberPage;
+import lab.reservation_server.dto.response.member.MemberSearchResult;
+import lab.reservation_server.dto.response.member.WarningCounts;
 import lab.reservation_server.dto.response.member.MemberSimpleInfos;
 
 public interface MemberService {
@@ -17,13 +22,22 @@ public interface MemberService {
 
     MemberUpdate updateMember(MemberUpdate memberUpdate);
 
-    String deleteMember(String userId);
+    String deleteMember(String userId, SessionMember session);
+
+    int purgeGraduates(int size);
 
     MemberSimpleInfos getMemberList();
 
-    String warning(String userId);
+    MemberPage getMemberPage(Long lastId, int size, String role, Boolean isAuth, SessionMember session);
+
+    List<MemberSearchResult> searchMembers(String prefix, int limit, SessionMember session);
+
+    String warning(String userId, SessionMember session);
+
+    String resetWarning(String userId, SessionMember session);
+
+    WarningCounts warnings(List<String> userIds, SessionMember session);
 
-    String resetWarning(String userId);
+    WarningCounts resetWarnings(List<String> userIds, SessionMember session);
 
-    void updateMemberIsAuthFalse();
 }
@@ -1,7 +1,14 @@
 package lab.reservation_server.service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import lab.reservation_server.auth.SessionMember;
 import lab.reservation_server.dto.request.report.ReportRequest;
+import lab.reservation_server.dto.response.report.ReportInfo;
 import lab.reservation_server.dto.response.report.ReportInfos;
+import lab.reservation_server.dto.response.report.ReportPage;
+import lab.reservation_server.dto.response.report.ReportSummary;
 
 /**
  * 문의 및 신고
@@ -11,4 +18,11 @@ public interface ReportService {
 
   ReportInfos getAllReports();
 
+  ReportPage getReportPage(LocalDateTime lastCreateDate, Long lastId, int size, String userId,
+                           LocalDate from, LocalDate to, SessionMember session);
+
+  ReportInfo getReport(Long id, SessionMember session);
+
+  List<ReportSummary> searchReports(String query, int limit, SessionMember session);
+
 }
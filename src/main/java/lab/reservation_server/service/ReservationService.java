@@ -1,6 +1,8 @@
 package lab.reservation_server.service;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import lab.reservation_server.auth.SessionMember;
 import lab.reservation_server.dto.request.reservation.BookRequest;
 import lab.reservation_server.dto.request.reservation.ExtendRequest;
 import lab.reservation_server.dto.request.reservation.PermissionUpdate;
@@ -11,6 +13,8 @@ import lab.reservation_server.dto.response.reservation.CurrentReservation;
 import lab.reservation_server.dto.response.reservation.ReservationInfo;
 import lab.reservation_server.dto.response.reservation.ReservationInfos;
 import lab.reservation_server.dto.response.reservation.ReservationInfosWithManager;
+import lab.reservation_server.dto.response.reservation.ReservationPage;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface ReservationService {
 
@@ -20,9 +24,9 @@ public interface ReservationService {
 
   CurrentReservation checkReservationBetweenTime(String roomNumber, TimeStartToEnd timeStartToEnd);
 
-  BookInfo doReservation(BookRequest book);
+  BookInfo doReservation(BookRequest book, SessionMember session);
 
-  ReservationInfos getAllReservationFromMemberId(String userId);
+  ReservationInfos getAllReservationFromMemberId(String userId, SessionMember session);
 
   ReservationInfos getUnauthorizedReservation();
 
@@ -32,7 +36,12 @@ public interface ReservationService {
 
   BookInfo extendReservation(ExtendRequest extendRequest) throws IOException;
 
-  ReservationInfos getLastAllReservationFromMemberId(String userId);
+  ReservationInfos getLastAllReservationFromMemberId(String userId, SessionMember session);
+
+  ReservationPage getReservationHistory(String userId, SessionMember session, LocalDateTime lastStartTime,
+                                        Long lastId, int size);
+
+  StreamingResponseBody streamReservationHistory(String userId, SessionMember session);
 
   String deleteReservation(Long reservationId);
 }
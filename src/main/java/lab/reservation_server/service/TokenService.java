@@ -1,13 +1,19 @@
 package lab.reservation_server.service;
 
+import java.util.List;
+import lab.reservation_server.auth.SessionMember;
 import lab.reservation_server.dto.request.token.ExpireDate;
 import lab.reservation_server.dto.request.member.TokenCheckDto;
 import lab.reservation_server.dto.response.token.MemberIsAuth;
 
 public interface TokenService {
 
-    // create token with uuid
-    String createToken(ExpireDate expirationDate);
+    // create token with TokenValueGenerator
+    String createToken(ExpireDate expirationDate, SessionMember session);
 
     MemberIsAuth checkToken(TokenCheckDto tokenValue);
+
+    List<String> createTokens(ExpireDate expirationDate, int count, SessionMember session);
+
+    int purgeExpiredTokens();
 }
@@ -6,8 +6,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.common.net.HttpHeaders;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -19,6 +21,7 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 @PropertySource("classpath:application.properties")
@@ -27,11 +30,14 @@ public class FirebaseCloudMessageService {
     private String API_URL;
     private final ObjectMapper objectMapper;
 
+    /**
+     * connection pool, thread pool을 갖고 있으므로 하나만 만들어서 모든 전송에 재사용한다.
+     */
+    private final OkHttpClient client = new OkHttpClient();
+
     public void sendMessageTo(String targetToken, String title, String body) throws IOException {
       String message = makeMessage(targetToken, title, body);
 
-      OkHttpClient client = new OkHttpClient();
-
       RequestBody requestBody = RequestBody.create(message, MediaType.get("application/json; charset=utf-8"));
 
       Request request = new Request.Builder()
@@ -41,9 +47,49 @@ public class FirebaseCloudMessageService {
           .addHeader(HttpHeaders.CONTENT_TYPE, "application/json; UTF-8")
           .build();
 
-      Response response = client.newCall(request).execute();
+      try (Response response = client.newCall(request).execute()) {
+        if (response.isSuccessful()) {
+          log.debug("fcm 전송 결과 : {}", response.body().string());
+        } else {
+          log.warn("fcm 전송 실패 : {} {}", response.code(), response.body().string());
+        }
+      }
+    }
+
+    /**
+     * 여러 사용자에게 같은 알림을 보낸다.
+     * access token을 한번만 받아서 모든 토큰에 재사용한다.
+     * 한 토큰의 전송이 실패해도 나머지 토큰은 계속 보내고, 다시 보내볼 만한 실패(네트워크 오류, 429, 5xx)의 토큰을 반환한다.
+     * 잘못되었거나 만료된 토큰처럼 다시 보내도 실패할 전송은 로그만 남긴다.
+     */
+    public List<String> sendMessagesTo(List<String> targetTokens, String title, String body) throws IOException {
+      String accessToken = getAccessToken();
+      List<String> retryTokens = new ArrayList<>();
+
+      for (String targetToken : targetTokens) {
+        RequestBody requestBody = RequestBody.create(makeMessage(targetToken, title, body),
+            MediaType.get("application/json; charset=utf-8"));
+
+        Request request = new Request.Builder()
+            .url(API_URL)
+            .post(requestBody)
+            .addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+            .addHeader(HttpHeaders.CONTENT_TYPE, "application/json; UTF-8")
+            .build();
 
-      System.out.println(response.body().string());
+        try (Response response = client.newCall(request).execute()) {
+          if (!response.isSuccessful()) {
+            log.warn("fcm 전송 실패 : {}", response.code());
+            if (response.code() == 429 || response.code() >= 500) {
+              retryTokens.add(targetToken);
+            }
+          }
+        } catch (IOException e) {
+          log.warn("fcm 전송 실패 : {}", e.getMessage());
+          retryTokens.add(targetToken);
+        }
+      }
+      return retryTokens;
     }
 
     private String makeMessage(String targetToken, String title, String body) throws JsonParseException, JsonProcessingException {
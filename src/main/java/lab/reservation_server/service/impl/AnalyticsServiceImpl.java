@@ -0,0 +1,108 @@
+package lab.reservation_server.service.impl;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lab.reservation_server.analytics.ReservationAnalyticsStore;
+import lab.reservation_server.analytics.ReservationMonthFile;
+import lab.reservation_server.dto.response.analytics.HourUtilisation;
+import lab.reservation_server.dto.response.analytics.LabUtilisation;
+import lab.reservation_server.dto.response.analytics.UtilisationReport;
+import lab.reservation_server.exception.BadRequestException;
+import lab.reservation_server.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * 월별 분석 파일(ReservationAnalyticsStore)만 읽어서 집계한다. DB는 읽지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final int MAX_MONTHS = 60;
+    private static final int HOURS = 24;
+
+    private final ReservationAnalyticsStore reservationAnalyticsStore;
+
+    /**
+     * 강의실별 좌석 이용률, 승인된 예약만 집계한다.
+     * 분모는 달마다 그 달 파일에 기록된 수용 인원 * 일 수 * 60분이므로 기간 중 수용 인원이 바뀌어도 달마다 맞게 계산된다.
+     */
+    @Override
+    public UtilisationReport getUtilisation(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("조회 시작 달이 종료 달보다 늦습니다.");
+        }
+        YearMonth last = reservationAnalyticsStore.lastClosedMonth();
+        if (to.isAfter(last)) {
+            to = last;
+        }
+        if (from.plusMonths(MAX_MONTHS - 1).isBefore(to)) {
+            throw new BadRequestException("최대 " + MAX_MONTHS + "개월까지 조회할 수 있습니다.");
+        }
+
+        Map<String, LabTotal> totals = new TreeMap<>();
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            reservationAnalyticsStore.open(month).ifPresent(file -> {
+                months.add(file.getMonth());
+                aggregate(file, totals);
+            });
+        }
+
+        List<LabUtilisation> labs = new ArrayList<>(totals.size());
+        totals.forEach((roomNumber, total) -> labs.add(total.toUtilisation(roomNumber)));
+        return new UtilisationReport(from, to, months, labs);
+    }
+
+    private void aggregate(ReservationMonthFile file, Map<String, LabTotal> totals) {
+        int minutesPerHour = file.getMonth().lengthOfMonth() * 60;
+
+        // 파일의 강의실 코드 -> 집계, 달마다 사전이 다르므로 호실 이름으로 합친다.
+        LabTotal[] byCode = new LabTotal[file.labCount()];
+        for (int code = 0; code < byCode.length; code++) {
+            byCode[code] = totals.computeIfAbsent(file.labName(code), key -> new LabTotal());
+            byCode[code].availableMinutesPerHour += (long) file.labCapacity(code) * minutesPerHour;
+        }
+
+        for (int row = 0, rows = file.getRows(); row < rows; row++) {
+            if (!file.permission(row)) {
+                continue;
+            }
+            LabTotal total = byCode[file.lab(row)];
+            int start = file.startMinute(row);
+            int end = file.endMinute(row);
+            total.reservations++;
+            total.reservedMinutes += end - start;
+            for (int hour = start / 60; hour < HOURS && hour * 60 < end; hour++) {
+                total.hourMinutes[hour] += Math.min(end, hour * 60 + 60) - Math.max(start, hour * 60);
+            }
+        }
+    }
+
+    private static class LabTotal {
+
+        private long reservations;
+        private long reservedMinutes;
+        private long availableMinutesPerHour;
+        private final long[] hourMinutes = new long[HOURS];
+
+        private LabUtilisation toUtilisation(String roomNumber) {
+            List<HourUtilisation> hours = new ArrayList<>(HOURS);
+            for (int hour = 0; hour < HOURS; hour++) {
+                hours.add(new HourUtilisation(hour, ratio(hourMinutes[hour], availableMinutesPerHour)));
+            }
+            return new LabUtilisation(roomNumber, reservations, reservedMinutes,
+                ratio(reservedMinutes, availableMinutesPerHour * HOURS), hours);
+        }
+
+        private static double ratio(long used, long available) {
+            return available == 0 ? 0 : (double) used / available;
+        }
+    }
+}
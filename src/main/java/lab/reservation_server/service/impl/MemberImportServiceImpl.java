@@ -0,0 +1,310 @@
+package lab.reservation_server.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lab.reservation_server.auth.PasswordHasher;
+import lab.reservation_server.auth.SessionMember;
+import lab.reservation_server.cache.MemberExistenceFilter;
+import lab.reservation_server.domain.Member;
+import lab.reservation_server.domain.enums.Role;
+import lab.reservation_server.dto.response.member.MemberImportResult;
+import lab.reservation_server.dto.response.member.MemberImportRow;
+import lab.reservation_server.dto.response.member.MemberImportRow.Status;
+import lab.reservation_server.exception.BadRequestException;
+import lab.reservation_server.repository.MemberRepository;
+import lab.reservation_server.search.MemberSearchIndex;
+import lab.reservation_server.service.MemberImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 학기 초 학생 명단(CSV) 일괄 등록
+ *
+ * CSV 형식 : userId,password,name,email,phoneNum[,role]  (첫 줄이 userId로 시작하면 헤더로 보고 건너뛴다.)
+ * 쉼표로만 나누므로 따옴표로 감싼 항목(항목 안의 쉼표, 줄바꿈)은 지원하지 않고, 따옴표가 있는 줄은 INVALID로 처리한다.
+ * 파일을 한 줄씩 읽어서 500명 단위로 처리하기 때문에 명단 전체를 메모리에 올리지 않는다.
+ *
+ * 500명 단위 처리 순서
+ * 1. 중복 확인 filter에 있을 수도 있는 학번, 전화번호만 IN 조회로 한번에 중복 확인
+ * 2. 비밀번호는 PasswordHasher의 일괄 등록용 스레드에서 나눠서 해시 (로그인용 스레드와 분리)
+ * 3. JDBC batch insert 한번 (한 트랜잭션), 그 사이 다른 경로로 가입된 학번이 있으면 한명씩 다시 insert
+ * 4. 중복 확인 filter, 검색 인덱스 반영
+ *
+ * 요청 스레드에서 끝까지 처리하고 결과를 응답하므로 처리 시간은 bcrypt 해시 시간에 묶인다.
+ * 대략 (인원 수 x 해시 한번 시간) / 일괄 등록용 스레드 수(기본 코어 수의 절반)이며,
+ * 기본 cost 10(해시 한번에 약 70ms), 4코어 서버에서 1,000명이면 35초 정도 걸린다.
+ * 전화번호는 Member.normalizePhoneNum으로 회원가입과 같은 형식으로 맞춘다.
+ */
+@Slf4j
+@Service
+public class MemberImportServiceImpl implements MemberImportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String DEFAULT_MAJOR = "컴퓨터소프트웨어공학과";
+
+    private static final Pattern USER_ID = Pattern.compile("^[a-zA-Z0-9]{6,}$");
+    private static final Pattern PASSWORD = Pattern.compile("^(?=.*[a-zA-Z])(?=.*[0-9]).{6,}$");
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+
+    private static final String INSERT_MEMBER =
+        "insert into member (user_id, password, name, email, phone_num, major, role, warning_count, " +
+        "created_date, modified_date) values (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private final MemberRepository memberRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordHasher passwordHasher;
+    private final MemberExistenceFilter memberExistenceFilter;
+    private final MemberSearchIndex memberSearchIndex;
+
+    public MemberImportServiceImpl(MemberRepository memberRepository, JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager, PasswordHasher passwordHasher,
+                                   MemberExistenceFilter memberExistenceFilter, MemberSearchIndex memberSearchIndex) {
+        this.memberRepository = memberRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordHasher = passwordHasher;
+        this.memberExistenceFilter = memberExistenceFilter;
+        this.memberSearchIndex = memberSearchIndex;
+    }
+
+    @Override
+    public MemberImportResult importMembers(InputStream csv, SessionMember session) {
+        SessionMember.requireManager(session, "회원 일괄 등록 권한이 없습니다.");
+
+        MemberImportResult result = new MemberImportResult();
+        Set<String> seenUserIds = new HashSet<>();
+        Set<String> seenPhoneNums = new HashSet<>();
+        List<CsvMember> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = lineNumber == 1 ? line.replace("\uFEFF", "") : line;
+                if (line.isBlank() || (lineNumber == 1 && line.startsWith("userId"))) {
+                    continue;
+                }
+
+                CsvMember member = parse(lineNumber, line, result);
+                if (member == null) {
+                    continue;
+                }
+                if (!seenUserIds.add(member.userId) || !seenPhoneNums.add(member.phoneNum)) {
+                    result.add(member.toRow(Status.DUPLICATE_IN_FILE, "파일 안에 같은 학번 혹은 전화번호가 있습니다."));
+                    continue;
+                }
+
+                chunk.add(member);
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("CSV 파일을 읽을 수 없습니다.");
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+        result.sortByLine();
+
+        log.info("회원 일괄 등록 완료 : 전체 {}명, 등록 {}명, 실패 {}명", result.getTotal(), result.getCreated(), result.getFailed());
+        return result;
+    }
+
+    private void importChunk(List<CsvMember> chunk, MemberImportResult result) {
+        List<CsvMember> members = removeExisting(chunk, result);
+        if (members.isEmpty()) {
+            return;
+        }
+
+        List<String> hashed = passwordHasher.encodeAll(
+            members.stream().map(member -> member.password).collect(Collectors.toList()));
+        for (int i = 0; i < members.size(); i++) {
+            members.get(i).password = hashed.get(i);
+        }
+
+        List<CsvMember> created;
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(members));
+            created = members;
+        } catch (DataIntegrityViolationException e) {
+            // 확인 이후에 다른 경로로 가입된 학번이 있는 경우, 이번 묶음만 한명씩 다시 등록
+            created = insertOneByOne(members, result);
+        }
+
+        for (CsvMember member : created) {
+            memberExistenceFilter.put(member.userId, member.phoneNum);
+            result.add(member.toRow(Status.CREATED, null));
+        }
+        List<String> createdUserIds = created.stream().map(member -> member.userId).collect(Collectors.toList());
+        if (!createdUserIds.isEmpty()) {
+            memberRepository.findSearchResultsByUserIds(createdUserIds).forEach(memberSearchIndex::put);
+        }
+    }
+
+    /**
+     * DB에 이미 있는 학번, 전화번호를 제외한다.
+     * filter에 없는 값은 DB에 없는 것이 확실하므로 있을 수도 있는 값만 IN 조회 한번씩으로 확인한다.
+     */
+    private List<CsvMember> removeExisting(List<CsvMember> chunk, MemberImportResult result) {
+        List<String> userIds = chunk.stream()
+            .map(member -> member.userId)
+            .filter(memberExistenceFilter::mightContainUserId)
+            .collect(Collectors.toList());
+        List<String> phoneNums = chunk.stream()
+            .map(member -> member.phoneNum)
+            .filter(memberExistenceFilter::mightContainPhoneNum)
+            .collect(Collectors.toList());
+
+        Set<String> existingUserIds = userIds.isEmpty()
+            ? Set.of() : new HashSet<>(memberRepository.findExistingUserIds(userIds));
+        Set<String> existingPhoneNums = phoneNums.isEmpty()
+            ? Set.of() : new HashSet<>(memberRepository.findExistingPhoneNums(phoneNums));
+
+        List<CsvMember> members = new ArrayList<>(chunk.size());
+        for (CsvMember member : chunk) {
+            if (existingUserIds.contains(member.userId) || existingPhoneNums.contains(member.phoneNum)) {
+                result.add(member.toRow(Status.DUPLICATE, "이미 존재하는 회원입니다."));
+            } else {
+                members.add(member);
+            }
+        }
+        return members;
+    }
+
+    private void insert(List<CsvMember> members) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_MEMBER, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                CsvMember member = members.get(i);
+                ps.setString(1, member.userId);
+                ps.setString(2, member.password);
+                ps.setString(3, member.name);
+                ps.setString(4, member.email);
+                ps.setString(5, member.phoneNum);
+                ps.setString(6, DEFAULT_MAJOR);
+                ps.setString(7, member.role.name());
+                ps.setTimestamp(8, now);
+                ps.setTimestamp(9, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return members.size();
+            }
+        });
+    }
+
+    private List<CsvMember> insertOneByOne(List<CsvMember> members, MemberImportResult result) {
+        List<CsvMember> created = new ArrayList<>(members.size());
+        for (CsvMember member : members) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(member)));
+                created.add(member);
+            } catch (DataIntegrityViolationException e) {
+                result.add(member.toRow(Status.DUPLICATE, "이미 존재하는 회원입니다."));
+            }
+        }
+        return created;
+    }
+
+    private CsvMember parse(int lineNumber, String line, MemberImportResult result) {
+        // 따옴표로 감싼 항목을 쉼표로 나누면 항목이 밀려서 다른 값으로 등록될 수 있으므로 줄 전체를 거절한다.
+        if (line.indexOf('"') >= 0) {
+            result.add(new MemberImportRow(lineNumber, null, Status.INVALID, "따옴표가 들어간 항목은 지원하지 않습니다."));
+            return null;
+        }
+        String[] columns = line.split(",", -1);
+        if (columns.length < 5 || columns.length > 6) {
+            result.add(new MemberImportRow(lineNumber, null, Status.INVALID, "항목 수가 올바르지 않습니다."));
+            return null;
+        }
+
+        CsvMember member = new CsvMember();
+        member.line = lineNumber;
+        member.userId = columns[0].trim();
+        member.password = columns[1].trim();
+        member.name = columns[2].trim();
+        member.email = columns[3].trim();
+        member.phoneNum = Member.normalizePhoneNum(columns[4]);
+
+        String message = validate(member, columns.length == 6 ? columns[5].trim() : "");
+        if (message != null) {
+            result.add(member.toRow(Status.INVALID, message));
+            return null;
+        }
+        return member;
+    }
+
+    private String validate(CsvMember member, String role) {
+        if (!USER_ID.matcher(member.userId).matches()) {
+            return "아이디는 영문 혹은 숫자로 6자리 이상으로 구성되어야 합니다.";
+        }
+        if (!PASSWORD.matcher(member.password).matches()) {
+            return "비밀번호는 영문자와 숫자를 포함한 6자리 이상이어야 합니다.";
+        }
+        if (member.name.isEmpty()) {
+            return "이름을 입력해주세요.";
+        }
+        if (!EMAIL.matcher(member.email).matches()) {
+            return "이메일 형식이 아닙니다.";
+        }
+        if (member.phoneNum.isEmpty()) {
+            return "폰번호를 입력해주세요.";
+        }
+
+        // 일괄 등록으로는 학생 권한만 만들 수 있다.
+        if (role.isEmpty()) {
+            member.role = Role.USER;
+        } else if (role.equals(Role.USER.name()) || role.equals(Role.USER_GRADUATE.name())
+            || role.equals(Role.USER_TAKEOFF.name())) {
+            member.role = Role.valueOf(role);
+        } else {
+            return "학생 권한(USER, USER_GRADUATE, USER_TAKEOFF)만 등록할 수 있습니다.";
+        }
+        return null;
+    }
+
+    /**
+     * CSV 한 행, 같은 스레드 안에서만 사용한다.
+     */
+    private static class CsvMember {
+
+        private int line;
+        private String userId;
+        private String password;
+        private String name;
+        private String email;
+        private String phoneNum;
+        private Role role;
+
+        private MemberImportRow toRow(Status status, String message) {
+            return new MemberImportRow(line, userId, status, message);
+        }
+    }
+}
@@ -1,78 +1,140 @@
 package lab.reservation_server.service.impl;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import lab.reservation_server.auth.PasswordHasher;
+import lab.reservation_server.auth.SessionMember;
+import lab.reservation_server.auth.SessionTokenProvider;
+import lab.reservation_server.cache.MemberExistenceFilter;
+import lab.reservation_server.cache.MemberSummary;
+import lab.reservation_server.cache.MemberSummaryCache;
 import lab.reservation_server.domain.Member;
+import lab.reservation_server.domain.Semester;
 import lab.reservation_server.domain.enums.Role;
 import lab.reservation_server.dto.request.member.MemberLogin;
 import lab.reservation_server.dto.request.member.MemberSignUp;
 import lab.reservation_server.dto.request.member.MemberUpdate;
 import lab.reservation_server.dto.request.member.UserIdCheck;
+import lab.reservation_server.dto.response.member.LoginMember;
 import lab.reservation_server.dto.response.member.MemberInfo;
+import lab.reservation_server.dto.response.member.MemberListItem;
+import lab.reservation_server.dto.response.member.MemberPage;
+import lab.reservation_server.dto.response.member.MemberSearchResult;
+import lab.reservation_server.dto.response.member.WarningCount;
+import lab.reservation_server.dto.response.member.WarningCounts;
 import lab.reservation_server.dto.response.member.MemberSimpleInfo;
 import lab.reservation_server.dto.response.member.MemberSimpleInfos;
-import lab.reservation_server.dto.response.reservation.ReservationInfo;
 import lab.reservation_server.exception.BadRequestException;
 import lab.reservation_server.exception.DuplicateException;
+import lab.reservation_server.exception.ForbiddenException;
 import lab.reservation_server.repository.MemberRepository;
+import lab.reservation_server.repository.ReservationArchiveRepository;
+import lab.reservation_server.repository.ReservationRepository;
+import lab.reservation_server.schedule.ReservationLifecycleScheduler;
+import lab.reservation_server.search.MemberSearchIndex;
 import lab.reservation_server.service.MemberService;
-import lab.reservation_server.service.ReservationService;
+import lab.reservation_server.support.TransactionHooks;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class MemberServiceImpl implements MemberService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_SIZE = 20;
+
     private final MemberRepository memberRepository;
-    private final ReservationService reservationService;
+    private final ReservationRepository reservationRepository;
+    private final ReservationArchiveRepository reservationArchiveRepository;
+    private final ReservationLifecycleScheduler reservationLifecycleScheduler;
+    private final SessionTokenProvider sessionTokenProvider;
+    private final PasswordHasher passwordHasher;
+    private final MemberSummaryCache memberSummaryCache;
+    private final MemberSearchIndex memberSearchIndex;
+    private final MemberExistenceFilter memberExistenceFilter;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * 회원가입
+     * bcrypt는 트랜잭션(DB 커넥션) 밖에서 계산하고, 저장만 짧은 트랜잭션(save)으로 처리한다.
      * @param memberSignUp 회원가입 정보
      */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Boolean signUp(MemberSignUp memberSignUp) {
-        // member 저장 후 unique 제약 조건으로 이미 존재하는 회원일 경우 error 처리
+        // filter에 없으면 DB 조회 없이 통과, 있을 수도 있는 경우에만 exists 조회
+        if (isUserIdTaken(memberSignUp.getUserId()) || isPhoneNumTaken(memberSignUp.getPhoneNum())) {
+          throw new DuplicateException("이미 존재하는 회원입니다.");
+        }
+
+        // 동시에 같은 학번으로 가입하는 경우는 unique 제약 조건으로 error 처리
+        Member member = memberSignUp.toEntity(memberSignUp);
+        member.updatePassword(passwordHasher.encode(memberSignUp.getPassword()));
+
         try {
-           memberRepository.save(memberSignUp.toEntity(memberSignUp));
+           memberRepository.save(member);
         } catch (DataIntegrityViolationException e) {
           throw new DuplicateException("이미 존재하는 회원입니다.");
         }
+        memberExistenceFilter.put(member.getUserId(), member.getPhoneNum());
+        memberSearchIndex.put(new MemberSearchResult(member));
       return true;
     }
 
     /**
      * 학생 로그인
+     * 비밀번호 검증(bcrypt)은 최대 timeout까지 걸릴 수 있으므로 트랜잭션 밖에서 하고,
+     * 다시 해시한 비밀번호, 디바이스 토큰처럼 바뀐 값이 있을 때만 짧은 트랜잭션으로 저장한다.
      * @param memberLogin 로그인을 하기 위한 아이디 및 비밀번호 받는 dto
      * @return 학생의 최소한의 정보만 담은 MemberInfo Dto 반환
      */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public MemberInfo login(MemberLogin memberLogin) {
       // check user id is valid
-      Member memberFromDb = memberRepository.findByUserId(memberLogin.getUserId())
+      // 회원 정보와 가장 가까운 예약 한건을 한번의 쿼리로 가져온다.
+      LoginMember loginMember = memberRepository.findLoginMember(memberLogin.getUserId(), LocalDateTime.now(),
+              PageRequest.of(0, 1)).stream()
+          .findFirst()
           .orElseThrow(() -> new BadRequestException("아이디가 유효하지 않습니다."));
 
       // check user password is valid
-      if (!memberFromDb.getPassword().equals(memberLogin.getPassword())) {
+      if (!passwordHasher.matches(memberLogin.getPassword(), loginMember.getPassword())) {
         throw new BadRequestException("아이디 혹은 비밀번호가 유효하지 않습니다.");
       }
 
-      // 사용자의 디바이스 토큰 업데이트
-      memberFromDb.updateDeviceToken(memberLogin.getDeviceToken());
-
-      // reservation service를 통해서 reservationInfo 가져오기
-      ReservationInfo reservation =
-          reservationService.getCurrentReservationFromMemberId(memberFromDb.getId());
-
+      // 평문으로 저장된 기존 비밀번호는 로그인에 성공한 시점에 bcrypt로 바꿔 저장
+      boolean rehash = passwordHasher.needsRehash(loginMember.getPassword());
+      String password = rehash ? passwordHasher.encode(memberLogin.getPassword()) : loginMember.getPassword();
+
+      // 사용자의 디바이스 토큰이 바뀐 경우에만 업데이트
+      boolean deviceTokenChanged = !Objects.equals(loginMember.getDeviceToken(), memberLogin.getDeviceToken());
+
+      if (rehash || deviceTokenChanged) {
+        transactionTemplate.executeWithoutResult(status -> {
+          if (rehash) {
+            memberRepository.updatePassword(loginMember.getId(), password);
+          }
+          if (deviceTokenChanged) {
+            memberRepository.updateDeviceToken(loginMember.getId(), memberLogin.getDeviceToken());
+            memberSummaryCache.evict(loginMember.getId(), loginMember.getUserId());
+          }
+        });
+      }
 
-      // return memberinfo
-      return new MemberInfo(memberFromDb,reservation);
+      // return memberinfo, 이후 요청에서 사용할 세션 토큰을 함께 발급
+      return new MemberInfo(loginMember, password, memberLogin.getDeviceToken(),
+          sessionTokenProvider.issue(loginMember));
     }
 
     /**
@@ -80,35 +142,122 @@ public class MemberServiceImpl implements MemberService {
      */
     @Override
     public boolean checkId(UserIdCheck userIdCheck) {
-        return memberRepository.findByUserId(userIdCheck.getUserId()).isPresent();
+        return isUserIdTaken(userIdCheck.getUserId());
     }
 
     /**
      * 회원 사용자 정보 업데이트
+     * 새 비밀번호는 트랜잭션 밖에서 미리 해시해두고, 회원 정보 변경만 짧은 트랜잭션으로 처리한다.
      */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public MemberUpdate updateMember(MemberUpdate memberUpdate) {
 
       checkValidation(memberUpdate);
 
+      String storedPassword = memberRepository.findPasswordById(memberUpdate.getId())
+          .orElseThrow(() -> new BadRequestException("존재하지 않는 사용자입니다."));
+
+      // 조회 응답으로 받은 해시값을 그대로 보냈거나 지금 비밀번호와 같으면 저장된 해시를 유지하고,
+      // 새 비밀번호인 경우에만 해시해서 저장한다. (평문으로 저장된 기존 비밀번호는 이때 해시로 바뀐다.)
+      boolean unchanged = Objects.equals(storedPassword, memberUpdate.getPassword())
+          || passwordHasher.matches(memberUpdate.getPassword(), storedPassword);
+      String encodedPassword = unchanged && passwordHasher.isHashed(storedPassword)
+          ? storedPassword
+          : passwordHasher.encode(memberUpdate.getPassword());
+
+      try {
+        return transactionTemplate.execute(status -> update(memberUpdate, encodedPassword));
+      } catch (DataIntegrityViolationException e) {
+        // 다른 서버에서 방금 같은 학번, 전화번호를 저장해서 filter와 사전 확인을 통과한 경우
+        throw new DuplicateException("이미 존재하는 학번 혹은 전화번호입니다.");
+      }
+    }
+
+    private MemberUpdate update(MemberUpdate memberUpdate, String encodedPassword) {
       Member member = memberRepository.findById(memberUpdate.getId())
           .orElseThrow(() -> new BadRequestException("존재하지 않는 사용자입니다."));
 
+      // 학번이 바뀌는 경우도 있으므로 변경 전 학번으로 캐시를 지운다.
+      memberSummaryCache.evict(member.getId(), member.getUserId());
+
+      String storedUserId = member.getUserId();
+      String storedPhoneNum = member.getPhoneNum();
+      String storedPassword = member.getPassword();
+      Role storedRole = member.getRole();
       member.updateMemberInfo(memberUpdate);
+      member.updatePassword(encodedPassword);
+
+      // 권한이나 비밀번호가 바뀌면 이전에 발급한 세션 토큰을 받지 않는다. (캐시는 위에서 지웠다)
+      if (member.getRole() != storedRole || !Objects.equals(storedPassword, encodedPassword)) {
+        member.revokeSessionTokens();
+      }
+
+      // 학번, 전화번호가 바뀌면 새 값을 filter에 넣고, 이전 값은 filter에 남으므로 stale로 센다.
+      if (!Objects.equals(storedUserId, member.getUserId()) || !Objects.equals(storedPhoneNum, member.getPhoneNum())) {
+        memberExistenceFilter.put(member.getUserId(), member.getPhoneNum());
+        memberExistenceFilter.markStale(1);
+      }
+
+      memberSearchIndex.put(new MemberSearchResult(member));
 
       return new MemberUpdate(member);
     }
 
     @Override
     @Transactional
-    public String deleteMember(String userId) {
-        Member member = memberRepository.findByUserId(userId)
+    public String deleteMember(String userId, SessionMember session) {
+        // 관리자가 아니라면 본인만 탈퇴할 수 있다.
+        if (!SessionMember.require(session).isManager() && !session.isSameUser(userId)) {
+          throw new ForbiddenException("본인만 탈퇴할 수 있습니다.");
+        }
+
+        MemberSummary member = memberSummaryCache.findByUserId(userId)
             .orElseThrow(() -> new BadRequestException("존재하지 않는 사용자입니다."));
-        memberRepository.delete(member);
+
+        deleteMembers(List.of(member.getId()), List.of(member.getUserId()));
       return "탈퇴 성공";
     }
 
+    /**
+     * 졸업생(USER_GRADUATE)을 id 순으로 size명 삭제, 삭제한 인원 수 반환
+     * MemberPurgeSchedule에서 0이 반환될 때까지 반복 호출한다.
+     */
+    @Override
+    @Transactional
+    public int purgeGraduates(int size) {
+        List<MemberSearchResult> graduates =
+            memberRepository.findSearchResultsByRole(Role.USER_GRADUATE, PageRequest.of(0, size));
+        if (graduates.isEmpty()) {
+          return 0;
+        }
+
+        deleteMembers(graduates.stream().map(MemberSearchResult::getId).collect(Collectors.toList()),
+            graduates.stream().map(MemberSearchResult::getUserId).collect(Collectors.toList()));
+        return graduates.size();
+    }
+
+    /**
+     * 회원 삭제, 예약 -> 보관된 예약 -> 회원 순서로 테이블마다 delete 한번씩만 실행한다.
+     * (예약 내역을 엔티티로 읽어서 한건씩 지우지 않는다. 방장 내역은 lab_manager의 on delete cascade로 함께 지워진다.)
+     * 타이머, 검색 인덱스, 캐시, filter는 커밋된 후에 반영한다.
+     */
+    private void deleteMembers(List<Long> memberIds, List<String> userIds) {
+        List<Long> notEnded = reservationRepository.findNotEndedReservationIdsByMemberIds(memberIds, LocalDateTime.now());
+        reservationLifecycleScheduler.cancelAll(notEnded);
+
+        reservationRepository.deleteAllByMemberIds(memberIds);
+        reservationArchiveRepository.deleteAllByMemberIds(memberIds);
+        memberRepository.deleteAllByIds(memberIds);
+
+        // 검색 인덱스는 스스로 커밋 후에 반영한다. (afterCommit 안에서 등록한 afterCommit은 호출되지 않는다)
+        memberIds.forEach(memberSearchIndex::remove);
+        TransactionHooks.afterCommit(() -> {
+          memberSummaryCache.evictByUserIds(userIds);
+          memberExistenceFilter.markStale(memberIds.size());
+        });
+    }
+
     @Override
     public MemberSimpleInfos getMemberList() {
         List<Member> members = memberRepository.findAllWithRole(Role.USER);
@@ -119,47 +268,142 @@ public class MemberServiceImpl implements MemberService {
       return new MemberSimpleInfos(memberUpdates);
     }
 
+    /**
+     * 조교 화면의 회원 목록, lastId 이후의 회원을 size명 만큼 조회한다.
+     * @param lastId 이전 페이지의 nextId, 첫 페이지는 null
+     * @param role 권한 필터 (null이면 전체)
+     * @param isAuth 인증 여부 필터 (null이면 전체)
+     */
+    @Override
+    public MemberPage getMemberPage(Long lastId, int size, String role, Boolean isAuth, SessionMember session) {
+        SessionMember.requireManager(session, "회원 목록 조회 권한이 없습니다.");
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        List<MemberListItem> members = memberRepository.findMemberPage(
+            lastId == null ? 0L : lastId, toRole(role), isAuth, Semester.current(), PageRequest.of(0, pageSize));
+
+        Long nextId = members.size() < pageSize ? null : members.get(members.size() - 1).getId();
+
+        return new MemberPage(members, nextId);
+    }
+
+    /**
+     * 학번, 이름, 전화번호 앞부분으로 회원 검색 (DB 조회 없음)
+     */
+    @Override
+    public List<MemberSearchResult> searchMembers(String prefix, int limit, SessionMember session) {
+        SessionMember.requireManager(session, "회원 검색 권한이 없습니다.");
+
+        return memberSearchIndex.search(prefix, Math.max(1, Math.min(limit, MAX_SEARCH_SIZE)));
+    }
+
     @Override
     @Transactional
-    public String warning(String userId) {
+    public String warning(String userId, SessionMember session) {
 
-        Member member = memberRepository.findByUserId(userId)
-            .orElseThrow(() -> new BadRequestException("존재하지 않는 사용자입니다."));
+        checkManager(session);
 
-        member.warning();
+        // 엔티티를 읽지 않고 update 한번으로 증가시킨다.
+        if (memberRepository.increaseWarningCount(List.of(userId), LocalDateTime.now()) == 0) {
+          throw new BadRequestException("존재하지 않는 사용자입니다.");
+        }
+        memberSummaryCache.evictByUserIds(List.of(userId));
 
         return "경고 횟수 1회 증가";
     }
 
     @Override
     @Transactional
-    public String resetWarning(String userId) {
-        Member member = memberRepository.findByUserId(userId)
-            .orElseThrow(() -> new BadRequestException("존재하지 않는 사용자입니다."));
+    public String resetWarning(String userId, SessionMember session) {
+        checkManager(session);
 
-        member.resetWarning();
+        if (memberRepository.resetWarningCount(List.of(userId), LocalDateTime.now()) == 0) {
+          throw new BadRequestException("존재하지 않는 사용자입니다.");
+        }
+        memberSummaryCache.evictByUserIds(List.of(userId));
 
         return "경고 횟수 초기화";
     }
 
     /**
-     * member의 인증여부 필드를 false로 모두 초기화
+     * 여러 학생에게 경고 1회씩 부여 (노쇼 목록 등)
+     * update 한번, 결과 조회 한번으로 처리한다.
      */
     @Override
     @Transactional
-    public void updateMemberIsAuthFalse() {
+    public WarningCounts warnings(List<String> userIds, SessionMember session) {
+        checkManager(session);
 
-        memberRepository.updateMemberIsAuthFalse();
+        List<String> targets = userIds.stream().distinct().collect(Collectors.toList());
+        memberRepository.increaseWarningCount(targets, LocalDateTime.now());
+        memberSummaryCache.evictByUserIds(targets);
+
+        return toWarningCounts(targets);
+    }
+
+    /**
+     * 여러 학생의 경고 횟수 초기화
+     */
+    @Override
+    @Transactional
+    public WarningCounts resetWarnings(List<String> userIds, SessionMember session) {
+        checkManager(session);
+
+        List<String> targets = userIds.stream().distinct().collect(Collectors.toList());
+        memberRepository.resetWarningCount(targets, LocalDateTime.now());
+        memberSummaryCache.evictByUserIds(targets);
+
+        return toWarningCounts(targets);
+    }
+
+    private WarningCounts toWarningCounts(List<String> userIds) {
+        List<WarningCount> counts = memberRepository.findWarningCounts(userIds);
+
+        Set<String> found = counts.stream().map(WarningCount::getUserId).collect(Collectors.toSet());
+        List<String> notFound = userIds.stream().filter(userId -> !found.contains(userId)).collect(Collectors.toList());
+
+        return new WarningCounts(counts, notFound);
+    }
+
+    private boolean isUserIdTaken(String userId) {
+      return memberExistenceFilter.mightContainUserId(userId) && memberRepository.existsByUserId(userId);
+    }
+
+    private boolean isPhoneNumTaken(String phoneNum) {
+      return memberExistenceFilter.mightContainPhoneNum(phoneNum) && memberRepository.existsByPhoneNum(phoneNum);
+    }
+
+    private Role toRole(String role) {
+      if (role == null || role.isBlank()) {
+        return null;
+      }
+      try {
+        return Role.valueOf(role);
+      } catch (IllegalArgumentException e) {
+        throw new BadRequestException("존재하지 않는 권한입니다.");
+      }
+    }
+
+    /**
+     * 조교 혹은 교수 권한인지 DB 조회 없이 확인한다.
+     */
+    private void checkManager(SessionMember session) {
+      SessionMember.requireManager(session, "경고 관리 권한이 없습니다.");
     }
 
   private void checkValidation(MemberUpdate memberUpdate) {
 
-      memberRepository.findByUserId(memberUpdate.getUserId()).ifPresent(member -> {
+      memberSummaryCache.findByUserId(memberUpdate.getUserId()).ifPresent(member -> {
         if (!member.getId().equals(memberUpdate.getId())) {
           throw new DuplicateException("이미 존재하는 아이디입니다.");
         }
       });
 
+      if (!memberExistenceFilter.mightContainPhoneNum(memberUpdate.getPhoneNum())) {
+        return;
+      }
+
       memberRepository.findByPhoneNum(memberUpdate.getPhoneNum()).ifPresent(member -> {
         if (!member.getId().equals(memberUpdate.getId())) {
           throw new DuplicateException("이미 존재하는 전화번호 입니다.");
@@ -1,15 +1,24 @@
 package lab.reservation_server.service.impl;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
+import lab.reservation_server.auth.SessionMember;
 import lab.reservation_server.domain.Report;
 import lab.reservation_server.dto.request.report.ReportRequest;
 import lab.reservation_server.dto.response.report.ReportInfo;
 import lab.reservation_server.dto.response.report.ReportInfos;
+import lab.reservation_server.dto.response.report.ReportPage;
+import lab.reservation_server.dto.response.report.ReportSummary;
+import lab.reservation_server.exception.BadRequestException;
 import lab.reservation_server.repository.ReportRepository;
+import lab.reservation_server.schedule.ReportWriteBehind;
+import lab.reservation_server.search.ReportSearchIndex;
 import lab.reservation_server.service.ReportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,13 +28,28 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ReportServiceImpl implements ReportService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_SIZE = 50;
+
+    private static final String REPORT_PERMISSION_MESSAGE = "문의 및 신고 조회 권한이 없습니다.";
+
+    /**
+     * 조건이 없을 때 사용하는 기간의 양 끝 값 (null 파라미터 비교를 피하기 위함)
+     */
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final ReportRepository reportRepository;
+    private final ReportSearchIndex reportSearchIndex;
+    private final ReportWriteBehind reportWriteBehind;
 
+    /**
+     * 문의 및 신고 접수, 대기열에 넣고 바로 응답한다. (저장은 ReportWriteBehind에서 모아서 처리)
+     */
     @Override
-    @Transactional
     public String report(ReportRequest report) {
 
-        reportRepository.save(report.toEntity());
+        reportWriteBehind.enqueue(report.toEntity());
 
         return "문의 및 신고가 접수 되었습니다.";
     }
@@ -39,4 +63,55 @@ public class ReportServiceImpl implements ReportService {
 
         return new ReportInfos(reportInfos);
     }
+
+    /**
+     * 문의 및 신고 목록을 최신순으로 size건 조회 (내용 제외)
+     * @param lastCreateDate, lastId 이전 페이지의 nextCreateDate, nextId, 첫 페이지는 null
+     * @param userId 작성자 학번 필터 (null이면 전체)
+     * @param from, to 작성일 기간 필터 (to 포함, null이면 제한 없음)
+     */
+    @Override
+    public ReportPage getReportPage(LocalDateTime lastCreateDate, Long lastId, int size, String userId,
+                                    LocalDate from, LocalDate to, SessionMember session) {
+        SessionMember.requireManager(session, REPORT_PERMISSION_MESSAGE);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        boolean firstPage = lastCreateDate == null || lastId == null;
+        LocalDateTime pageDate = firstPage ? MAX_DATE : lastCreateDate;
+        Long pageId = firstPage ? Long.MAX_VALUE : lastId;
+        LocalDateTime fromDate = from == null ? MIN_DATE : from.atStartOfDay();
+        LocalDateTime toDate = to == null ? MAX_DATE : to.plusDays(1).atStartOfDay();
+
+        // 작성자 조건이 있을 때만 (user_id, create_date, id) index를 쓰는 쿼리를 사용
+        List<ReportSummary> reports = userId == null || userId.isBlank()
+            ? reportRepository.findReportPage(pageDate, pageId, fromDate, toDate, PageRequest.of(0, pageSize))
+            : reportRepository.findReportPageByUserId(userId, pageDate, pageId, fromDate, toDate,
+                PageRequest.of(0, pageSize));
+
+        if (reports.size() < pageSize) {
+            return new ReportPage(reports, null, null);
+        }
+        ReportSummary last = reports.get(reports.size() - 1);
+        return new ReportPage(reports, last.getCreateDate(), last.getId());
+    }
+
+    /**
+     * 문의 및 신고 상세 조회
+     */
+    @Override
+    public ReportInfo getReport(Long id, SessionMember session) {
+        SessionMember.requireManager(session, REPORT_PERMISSION_MESSAGE);
+        return reportRepository.findById(id)
+            .map(ReportInfo::new)
+            .orElseThrow(() -> new BadRequestException("존재하지 않는 문의 및 신고입니다."));
+    }
+
+    /**
+     * 제목, 내용에 검색어가 들어간 신고를 관련도 순으로 조회 (메모리 인덱스 사용)
+     */
+    @Override
+    public List<ReportSummary> searchReports(String query, int limit, SessionMember session) {
+        SessionMember.requireManager(session, REPORT_PERMISSION_MESSAGE);
+        return reportSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_SEARCH_SIZE)));
+    }
 }
@@ -1,14 +1,19 @@
 package lab.reservation_server.service.impl;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.Date;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;;
-import java.util.Optional;
 import java.util.stream.Collectors;
+import lab.reservation_server.auth.SessionMember;
+import lab.reservation_server.cache.MemberSummary;
+import lab.reservation_server.cache.MemberSummaryCache;
 import lab.reservation_server.domain.Lab;
 import lab.reservation_server.domain.Member;
 import lab.reservation_server.domain.Reservation;
@@ -23,12 +28,16 @@ import lab.reservation_server.dto.response.reservation.CurrentReservation;
 import lab.reservation_server.dto.response.reservation.ReservationInfo;
 import lab.reservation_server.dto.response.reservation.ReservationInfos;
 import lab.reservation_server.dto.response.reservation.ReservationInfosWithManager;
+import lab.reservation_server.dto.response.reservation.ReservationPage;
 import lab.reservation_server.exception.AlreadyBookedException;
 import lab.reservation_server.exception.BadRequestException;
 import lab.reservation_server.exception.FullOfCapacityException;
 import lab.reservation_server.exception.LecturePresentException;
+import lab.reservation_server.metrics.BookingMetrics;
 import lab.reservation_server.repository.MemberRepository;
+import lab.reservation_server.repository.ReservationHistoryRepository;
 import lab.reservation_server.repository.ReservationRepository;
+import lab.reservation_server.schedule.ReservationLifecycleScheduler;
 import lab.reservation_server.service.LabManagerService;
 import lab.reservation_server.service.LabService;
 import lab.reservation_server.service.LectureService;
@@ -36,8 +45,10 @@ import lab.reservation_server.service.ReservationService;
 import lab.reservation_server.statepattern.DefaultNewVersionRoom;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Service
 @RequiredArgsConstructor
@@ -45,15 +56,32 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ReservationServiceImpl implements ReservationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * 예약 내역 스트리밍 시 DB에서 한번에 가져오는 행 수 (MariaDB는 fetch size를 지정하면 결과를 나눠서 받는다)
+     */
+    private static final int HISTORY_FETCH_SIZE = 500;
+
+    private static final LocalDateTime MAX_START_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final ReservationRepository reservationRepository;
+    private final ReservationHistoryRepository reservationHistoryRepository;
     private final LabService labService;
     private final LectureService lectureService;
     private final LabManagerService labManagerService;
 
     private final MemberRepository memberRepository;
+    private final MemberSummaryCache memberSummaryCache;
 
     private final DefaultNewVersionRoom defaultNewVersionRoom;
 
+    private final ReservationLifecycleScheduler reservationLifecycleScheduler;
+
+    private final BookingMetrics bookingMetrics;
+
+    private final ObjectMapper objectMapper;
+
     /**
      * member의 id를 통해서 <b>가장 최근의</b> 예약 정보를 가져온다.
      */
@@ -63,12 +91,9 @@ public class ReservationServiceImpl implements ReservationService {
         LocalDateTime now = LocalDateTime.now();
 
         // 값이 있으면, reservationInfo를 만들어서 반환, 없으면 null 반환
-        // find first of list and conver to ReservationInfo
-        ReservationInfo reservationInfo =
-            reservationRepository.findReservationByMemberId(memberId,now).map(ReservationInfo::toCurrentReservation)
-                .orElse(null);
-
-        return reservationInfo;
+        // 첫번째 예약 한건만 조회해서 ReservationInfo로 변환
+        return ReservationInfo.toCurrentReservation(
+            reservationRepository.findNextReservationByMemberId(memberId, now, PageRequest.of(0, 1)));
       }
 
       /**
@@ -142,50 +167,74 @@ public class ReservationServiceImpl implements ReservationService {
      */
     @Transactional
     @Override
-    public BookInfo doReservation(BookRequest book) {
+    public BookInfo doReservation(BookRequest book, SessionMember session) {
+
+        // 단계별 소요 시간 측정, 결과(outcome)가 정해지면 한번에 기록한다.
+        BookingMetrics.Trace trace = bookingMetrics.start();
+        try {
+            BookInfo bookInfo = book(book, session, trace);
+            trace.finish("booked");
+            return bookInfo;
+        } catch (RuntimeException e) {
+            trace.finish(BookingMetrics.outcomeOf(e));
+            throw e;
+        }
+    }
 
-        // 이용하고자 하는 사용자 데이터 조회
-        Member member = memberRepository.findByUserId(book.getUserId())
-            .orElseThrow(() -> new BadRequestException("해당 사용자가 존재하지 않습니다."));
+    private BookInfo book(BookRequest book, SessionMember session, BookingMetrics.Trace trace) {
+
+        // 이용하고자 하는 사용자 데이터 조회, 세션 토큰이 있으면 DB 조회 없이 참조만 가져온다.
+        Member member = trace.time("member", () -> findMember(book.getUserId(), session));
+        Long memberId = isSessionOf(session, book.getUserId()) ? session.getMemberId() : member.getId();
 
         // 이용하고자 하는 강의실 데이터 조회
-        Lab lab = labService.findLabWithRoomNumber(book.getRoomNum());
+        Lab lab = trace.time("lab", () -> labService.findLabWithRoomNumber(book.getRoomNum()));
+        trace.lab(lab.getRoomNumber());
 
         // book의 예약 시작 시간이 16시 30분 전, 16시 30분 이후로 나누어서 예약을 진행한다.
         boolean beforeTime = checkIfBookStartBeforeTime(book);
 
         // 실습실 정보, 예약 시작 시간, 예약 종료 시간, 예약하고자 하는 날짜를 통해서 판단해야 한다.
-        lectureService.checkLectureBetweenTime(lab, book.getStartTime().toLocalTime(), book.getEndTime().toLocalTime());
+        trace.run("lecture", () -> lectureService.checkLectureBetweenTime(lab, book.getStartTime().toLocalTime(),
+            book.getEndTime().toLocalTime()));
 
         // 팀 인원이 현재 강의실 인원보다 많으면 예약 불가
-        checkIfTeamSizeIsBiggerThanCapacity(book,lab);
+        trace.run("capacity", () -> checkIfTeamSizeIsBiggerThanCapacity(book, lab));
 
         // 해당 사용자가 중복된 예약은 아닌지 확인한다.
         // 해당 메소드를 지나쳤다는 말은 중복된 예약이 아니라는 것을 의미한다.
-        checkIfBookedTwice(member,beforeTime);
+        trace.run("duplicate", () -> checkIfBookedTwice(memberId, beforeTime));
 
         // 특정 강의실, 특정 시간대, 특정 자리에 이미 예약한 좌석이 있는지 확인
         // 해당 메소드는 16시 30분 전에 신청하든, 그 이후에 신청을 하든 우선 자리가 있는지 고려 해야하는 상황이다.
         // 승인에 여부 없이 좌석을 확인해야 한다.
-        checkIfSeatAvailable(book,lab);
+        trace.run("seat", () -> checkIfSeatAvailable(book, lab));
 
         // 예약 시작 시간이 16시 30분 전이라면
         Reservation reservation = null;
         if(beforeTime){
             // 조교의 승인 필요 없이 바로 승인이 되어 예약이 이루어진다.
-            reservation =reservationRepository.save(book.toApprovedReservation(member,lab));
+            reservation = trace.time("save", () -> reservationRepository.save(book.toApprovedReservation(member, lab)));
 
         }else{
             // book의 roomNum이 우선 순위에 맞는 강의실로 선택했는지 확인한다.
-            defaultNewVersionRoom.checkIfRoomIsFull(book);
+            trace.run("room", () -> defaultNewVersionRoom.checkIfRoomIsFull(book));
             // 예약 시작 시간이 16시 30분 이후라면 조교의 승인이 필요하다
-            reservation = reservationRepository.save(book.toUnapprovedReservation(member,lab));
+            reservation = trace.time("save", () -> reservationRepository.save(book.toUnapprovedReservation(member, lab)));
 
             // 방장 업데이트는 최종적으로 조교가 승인할때 가장 오래 있는 사람으로 지정
         }
 
+        // 좌석 반납, 연장 가능 시간 등의 타이머 등록
+        Reservation saved = reservation;
+        trace.run("schedule", () -> reservationLifecycleScheduler.schedule(saved));
+
         // 예약 완료 정보 반환
-        return new BookInfo(reservation,lab,member);
+        if (isSessionOf(session, book.getUserId())) {
+            return new BookInfo(reservation, lab, session.getName(), session.getUserId(), session.getMajor());
+        }
+        MemberSummary member = findMemberSummary(book.getUserId());
+        return new BookInfo(reservation, lab, member.getName(), member.getUserId(), member.getMajor());
     }
 
     /**
@@ -193,18 +242,12 @@ public class ReservationServiceImpl implements ReservationService {
      * @param userId 사용자 아이디
      */
     @Override
-    public ReservationInfos getAllReservationFromMemberId(String userId) {
-        Member member = memberRepository.findByUserId(userId)
-            .orElseThrow(() -> new BadRequestException("해당 사용자가 존재하지 않습니다."));
-
-        // convert to list of reservation info
-      ReservationInfos reservationInfos = new ReservationInfos();
-      reservationRepository.findAllByMember(member, Date.valueOf(LocalDate.now()))
-          .ifPresent(reservations -> reservationInfos.addReservationInfo(reservations,member));
-
-      return reservationInfos;
-
+    public ReservationInfos getAllReservationFromMemberId(String userId, SessionMember session) {
 
+      // 응답 dto로 바로 조회 (예약, 강의실, 회원 entity를 만들지 않는다)
+      return new ReservationInfos(
+          reservationRepository.findBookInfosByMemberIdAndDate(findMemberId(userId, session),
+              Date.valueOf(LocalDate.now())));
     }
 
     /**
@@ -213,14 +256,8 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     public ReservationInfos getUnauthorizedReservation() {
       // 오늘 기점으로 17시 이후에 사용하고자 하는 미승인된 예약 내역을 조회한다.
-      Optional<List<Reservation>> unauthorizedReservations =
-          reservationRepository.findReservationsByDateAndPermission(Date.valueOf(LocalDate.now()),
-              false);
-
-      ReservationInfos reservationInfos = new ReservationInfos();
-      unauthorizedReservations.ifPresent(reservations -> reservationInfos.addReservationInfo(reservations));
-
-      return reservationInfos;
+      return new ReservationInfos(
+          reservationRepository.findBookInfosByDateAndPermission(Date.valueOf(LocalDate.now()), false));
     }
 
     /**
@@ -232,11 +269,10 @@ public class ReservationServiceImpl implements ReservationService {
       // 확인하고자 하는 강의실
       Lab lab = labService.findLabWithRoomNumber(roomAndTime.getRoomNum());
 
-      ReservationInfosWithManager reservationInfosWithManager = new ReservationInfosWithManager();
-
-      reservationRepository.findCurrentReservationWithPermission(lab,roomAndTime.getStartLocalDateTime(),
-              roomAndTime.getEndLocalDateTime(),true)
-          .ifPresent(reservationInfosWithManager::addReservationInfo);
+      ReservationInfosWithManager reservationInfosWithManager = new ReservationInfosWithManager(
+          reservationRepository.findBookInfosWithPermission(lab, roomAndTime.getStartLocalDateTime(),
+              roomAndTime.getEndLocalDateTime(), true),
+          null);
 
       // 검색하고자 하는데, 종료 시간이 17시 이후인 경우는 방정 데이터도 함께 response dto에 실어서 보낸다.
       if(roomAndTime.getEndLocalTime().isAfter(LocalTime.of(17,0))){
@@ -268,6 +304,7 @@ public class ReservationServiceImpl implements ReservationService {
       }else{
         // 거절
         reservationRepository.deleteByIds(permissionUpdate.getReservationIds());
+        reservationLifecycleScheduler.cancelAll(permissionUpdate.getReservationIds());
       }
 
       return "승인 상태 업데이트 완료";
@@ -330,6 +367,9 @@ public class ReservationServiceImpl implements ReservationService {
             labManagerService.updateLabManager(lab, List.of(reservation.getId()));
         }
 
+      // 종료 시간이 바뀌었으므로 타이머 재등록
+      reservationLifecycleScheduler.schedule(reservation);
+
       return new BookInfo(reservation);
     }
 
@@ -337,18 +377,62 @@ public class ReservationServiceImpl implements ReservationService {
      * 사용자가 해당 서비스를 이용하는데 예약했던 모든 내역을 조회한다.
      */
     @Override
-    public ReservationInfos getLastAllReservationFromMemberId(String userId) {
-
-        Member member = memberRepository.findByUserId(userId)
-          .orElseThrow(() -> new BadRequestException("해당하는 사용자가 존재하지 않습니다."));
+    public ReservationInfos getLastAllReservationFromMemberId(String userId, SessionMember session) {
 
-        List<Reservation> reservations =
-          reservationRepository.findAllLastReservationByMember(member).orElse(null);
+        // 보관된 지난 예약까지 함께 조회
+        return new ReservationInfos(reservationHistoryRepository.findAllByMemberId(findMemberId(userId, session)));
+    }
 
-        ReservationInfos reservationInfos = new ReservationInfos();
-        reservationInfos.addReservationInfo(reservations);
+    /**
+     * 사용자의 예약 내역(보관된 내역 포함)을 최근 시작한 예약부터 size건 조회
+     * @param lastStartTime, lastId 이전 페이지의 nextStartTime, nextId, 첫 페이지는 null
+     */
+    @Override
+    public ReservationPage getReservationHistory(String userId, SessionMember session, LocalDateTime lastStartTime,
+                                                 Long lastId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        boolean firstPage = lastStartTime == null || lastId == null;
+        List<BookInfo> reservations = reservationHistoryRepository.findPageByMemberId(
+            findMemberId(userId, session),
+            firstPage ? MAX_START_TIME : lastStartTime,
+            firstPage ? Long.MAX_VALUE : lastId,
+            pageSize);
+
+        if (reservations.size() < pageSize) {
+            return new ReservationPage(reservations, null, null);
+        }
+        BookInfo last = reservations.get(reservations.size() - 1);
+        return new ReservationPage(reservations, last.getStartTime(), last.getId());
+    }
 
-        return reservationInfos;
+    /**
+     * 사용자의 모든 예약 내역(보관된 내역 포함)을 {"reservations":[...]} 형태로 DB에서 읽는 대로 바로 응답에 쓴다.
+     * 전체 목록을 메모리에 만들지 않으므로 내역이 몇천건이어도 응답 중 사용하는 메모리는 같다.
+     * 사용자 확인은 요청 쓰레드에서 먼저 하고, 조회와 쓰기는 응답을 쓰는 쓰레드에서 한다.
+     */
+    @Override
+    public StreamingResponseBody streamReservationHistory(String userId, SessionMember session) {
+        Long memberId = findMemberId(userId, session);
+
+        return out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("reservations");
+
+                reservationHistoryRepository.streamByMemberId(memberId, HISTORY_FETCH_SIZE, bookInfo -> {
+                    try {
+                        generator.writeObject(bookInfo);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
     }
 
     /**
@@ -359,10 +443,41 @@ public class ReservationServiceImpl implements ReservationService {
     public String deleteReservation(Long reservationId) {
 
         reservationRepository.deleteById(reservationId);
+        reservationLifecycleScheduler.cancel(reservationId);
 
         return "예약이 취소(반납)되었습니다.";
     }
 
+    /**
+     * 세션 토큰의 사용자와 요청한 사용자가 같으면 세션의 id로, 그렇지 않으면 회원 캐시에서 찾은 id로
+     * DB 조회 없이 Member 참조(프록시)를 반환한다.
+     */
+    private Member findMember(String userId, SessionMember session) {
+        if (isSessionOf(session, userId)) {
+            return memberRepository.getReferenceById(session.getMemberId());
+        }
+        return memberRepository.getReferenceById(findMemberSummary(userId).getId());
+    }
+
+    /**
+     * 세션 토큰의 사용자와 요청한 사용자가 같으면 세션의 id, 그렇지 않으면 회원 캐시에서 찾은 id
+     */
+    private Long findMemberId(String userId, SessionMember session) {
+        if (isSessionOf(session, userId)) {
+            return session.getMemberId();
+        }
+        return findMemberSummary(userId).getId();
+    }
+
+    private MemberSummary findMemberSummary(String userId) {
+        return memberSummaryCache.findByUserId(userId)
+            .orElseThrow(() -> new BadRequestException("해당 사용자가 존재하지 않습니다."));
+    }
+
+    private boolean isSessionOf(SessionMember session, String userId) {
+        return session != null && session.isSameUser(userId);
+    }
+
   /**
      * 팀 인원이 열려 있는 강의실 남은 자리 수 보다 많을 때 예약불가 메세지 알려주기
      */
@@ -390,18 +505,18 @@ public class ReservationServiceImpl implements ReservationService {
     /**
      * 해당 사용자가 중복된 예약은 없는지 확인
      */
-    private void checkIfBookedTwice(Member member, Boolean permission) {
+    private void checkIfBookedTwice(Long memberId, Boolean permission) {
 
       // 예약 시작 시간이 16시 30분 전이라면
       if(permission){
-        reservationRepository.findApprovedReservationByMemberId(member.getId(),true, java.sql.Date.valueOf(LocalDate.now()))
+        reservationRepository.findApprovedReservationByMemberId(memberId,true, java.sql.Date.valueOf(LocalDate.now()))
             .map(ReservationInfo::toCurrentReservation)
             .ifPresent(reservationInfo -> {
               log.warn("중복 예약 불가");
               throw new AlreadyBookedException("17시 전에 이미 예약된 내역이 있습니다. 중복된 예약은 불가합니다.");
             });
       }else{
-        reservationRepository.findApprovedReservationByMemberId(member.getId(),false, java.sql.Date.valueOf(LocalDate.now()))
+        reservationRepository.findApprovedReservationByMemberId(memberId,false, java.sql.Date.valueOf(LocalDate.now()))
             .map(ReservationInfo::toCurrentReservation)
             .ifPresent(reservationInfo -> {
               log.warn("중복 예약 불가");
@@ -1,17 +1,31 @@
 package lab.reservation_server.service.impl;
 
+import java.sql.Date;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import lab.reservation_server.auth.SessionMember;
+import lab.reservation_server.auth.TokenValueGenerator;
+import lab.reservation_server.cache.ActiveTokenCache;
+import lab.reservation_server.cache.MemberSummary;
+import lab.reservation_server.cache.MemberSummaryCache;
+import lab.reservation_server.domain.Semester;
 import lab.reservation_server.domain.Token;
 import lab.reservation_server.dto.request.token.ExpireDate;
 import lab.reservation_server.dto.request.member.TokenCheckDto;
 import lab.reservation_server.dto.response.token.MemberIsAuth;
 import lab.reservation_server.exception.BadRequestException;
-import lab.reservation_server.repository.MemberRepository;
 import lab.reservation_server.repository.TokenRepository;
+import lab.reservation_server.schedule.AuthSemesterWriteBehind;
 import lab.reservation_server.service.TokenService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -19,36 +33,125 @@ import org.springframework.transaction.annotation.Transactional;
 public class TokenServiceImpl implements TokenService {
 
     private final TokenRepository tokenRepository;
-    private final MemberRepository memberRepository;
+    private final MemberSummaryCache memberSummaryCache;
+    private final TokenValueGenerator tokenValueGenerator;
+    private final ActiveTokenCache activeTokenCache;
+    private final AuthSemesterWriteBehind authSemesterWriteBehind;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private static final int MAX_RETRY = 3;
+
+    /**
+     * 아직 유효한 토큰과 겹쳐서 건너뛸 수 있는 최대 값 수, 넘으면 유효한 토큰이 너무 많은 것이므로 발급하지 않는다.
+     */
+    private static final int MAX_SKIPPED = 100_000;
 
     /**
      * 조교로 부터 만료 날짜를 받는다.
-     * 토큰을 UUID 형식으로 발급하여 DB에 저장
+     * 토큰을 TokenValueGenerator로 발급하여 DB에 저장
+     * 발급되는 값끼리는 겹치지 않지만, 이전 UUID 방식으로 발급된 토큰과 겹치는 경우에만 다음 값으로 다시 저장한다.
+     * (저장마다 트랜잭션을 따로 사용해야 다시 시도할 수 있다.)
      * @return token
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String createToken(ExpireDate expirationDate, SessionMember session) {
+      SessionMember.requireManager(session, "토큰 발급 권한이 없습니다.");
+      return saveToken(expirationDate);
+    }
+
+    /**
+     * 한 분반의 토큰을 한번에 발급, JDBC batch insert 한번으로 저장한다.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<String> createTokens(ExpireDate expirationDate, int count, SessionMember session) {
+      SessionMember.requireManager(session, "토큰 발급 권한이 없습니다.");
+
+      List<String> values = nextValues(count);
+      Date expiration = Date.valueOf(expirationDate.getExpireDate());
+
+      try {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate("insert into token (value, expiration) values (?, ?)", values, values.size(),
+                (ps, value) -> {
+                  ps.setString(1, value);
+                  ps.setDate(2, expiration);
+                }));
+        activeTokenCache.putAll(values, expirationDate.getExpireDate());
+        return values;
+      } catch (DataIntegrityViolationException e) {
+        // 이전 방식으로 발급된 토큰과 겹친 경우 batch 전체가 rollback 되므로 한건씩 다시 발급
+        List<String> created = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          created.add(saveToken(expirationDate));
+        }
+        return created;
+      }
+    }
+
+    private String saveToken(ExpireDate expirationDate) {
+      for (int i = 0; ; i++) {
+        try {
+          Token token = tokenRepository.save(new Token(nextValues(1).get(0), expirationDate.getExpireDate()));
+          activeTokenCache.put(token.getValue(), token.getExpiration());
+          return token.getValue();
+        } catch (DataIntegrityViolationException e) {
+          if (i == MAX_RETRY) {
+            throw e;
+          }
+        }
+      }
+    }
+
+    /**
+     * 카운터가 한 바퀴를 돌아 아직 유효한 토큰과 같은 값이 나오면 건너뛴다.
+     */
+    private List<String> nextValues(int count) {
+      List<String> values = new ArrayList<>(count);
+      int skipped = 0;
+      while (values.size() < count) {
+        for (String value : tokenValueGenerator.next(count - values.size())) {
+          if (!activeTokenCache.contains(value)) {
+            values.add(value);
+          } else if (++skipped > MAX_SKIPPED) {
+            throw new IllegalStateException("유효한 토큰이 너무 많아 새 토큰 값을 발급할 수 없습니다.");
+          }
+        }
+      }
+      return values;
+    }
+
+    /**
+     * 만료일이 지난 토큰 삭제
+     */
+    @Override
     @Transactional
-    public String createToken(ExpireDate expirationDate) {
-      Token token = new Token(expirationDate.getExpireDate());
-      tokenRepository.save(token);
-      return token.getValue();
+    public int purgeExpiredTokens() {
+      return tokenRepository.deleteExpired(LocalDate.now());
     }
 
+  /**
+   * 토큰 확인은 ActiveTokenCache로 DB 조회 없이 처리하고,
+   * 회원의 인증 학기는 AuthSemesterWriteBehind가 모아서 저장한다.
+   */
   @Override
-  @Transactional
   public MemberIsAuth checkToken(TokenCheckDto tokenCheckDto) {
 
-    Token token = tokenRepository.findByValue(tokenCheckDto.getToken())
+    LocalDate expiration = activeTokenCache.findExpiration(tokenCheckDto.getToken())
                       .orElseThrow(() -> new BadRequestException("토큰이 존재하지 않습니다."));
 
-    if(token.getExpiration().isBefore(LocalDate.now())) {
+    if(expiration.isBefore(LocalDate.now())) {
       throw new BadRequestException("토큰이 만료되었습니다.");
     }
 
-    // 정상 처리일 경우 해당 사용자의 isAuth를 true로 변경
-    memberRepository.findByUserId(tokenCheckDto.getUserId())
-        .orElseThrow(() -> new BadRequestException("해당 사용자가 존재하지 않습니다."))
-        .updateAuth(true);
+    // 정상 처리일 경우 해당 사용자의 인증 학기를 이번 학기로 변경, 이미 이번 학기에 인증했다면 저장하지 않는다.
+    MemberSummary member = memberSummaryCache.findByUserId(tokenCheckDto.getUserId())
+        .orElseThrow(() -> new BadRequestException("해당 사용자가 존재하지 않습니다."));
+    if (!Integer.valueOf(Semester.current()).equals(member.getAuthSemester())) {
+      authSemesterWriteBehind.enqueue(member);
+    }
 
     return new MemberIsAuth(true);
   }
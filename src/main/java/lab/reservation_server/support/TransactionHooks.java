@@ -0,0 +1,30 @@
+package lab.reservation_server.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션이 커밋된 뒤에 메모리 상태(타이머, 검색 인덱스, 캐시)를 바꾸기 위한 helper
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋된 후에 실행하고, rollback 되면 실행하지 않는다. 트랜잭션 밖이면 바로 실행한다.
+     * afterCommit 안에서 다시 등록한 작업은 호출되지 않으므로 중첩해서 사용하지 않는다.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
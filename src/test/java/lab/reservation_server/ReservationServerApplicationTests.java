@@ -3,7 +3,7 @@ package lab.reservation_server;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "lab.session.secret=test-session-secret-0123456789abcdef")
 class ReservationServerApplicationTests {
 
 	@Test
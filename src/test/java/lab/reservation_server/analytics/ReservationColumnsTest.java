@@ -0,0 +1,122 @@
+package lab.reservation_server.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReservationColumnsTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 2);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackWhatWasWritten() throws IOException {
+        ReservationColumns columns = new ReservationColumns(MONTH);
+        columns.add("911", 40, "A-1", LocalDateTime.of(2024, 2, 1, 9, 0), LocalDateTime.of(2024, 2, 1, 10, 30), 7L, true);
+        columns.add("영상실", 24, "B-2", LocalDateTime.of(2024, 2, 29, 16, 45), LocalDateTime.of(2024, 2, 29, 18, 0), 8L, false);
+        columns.add("911", 40, "B-2", LocalDateTime.of(2024, 2, 15, 0, 0), LocalDateTime.of(2024, 2, 15, 0, 30), 7L, true);
+
+        ReservationMonthFile file = writeAndOpen(columns);
+
+        assertThat(file.getMonth()).isEqualTo(MONTH);
+        assertThat(file.getRows()).isEqualTo(3);
+        assertThat(file.labCount()).isEqualTo(2);
+
+        assertThat(file.labName(file.lab(1))).isEqualTo("영상실");
+        assertThat(file.labCapacity(file.lab(1))).isEqualTo(24);
+        assertThat(file.lab(2)).isEqualTo(file.lab(0));
+        assertThat(file.seatName(file.seat(2))).isEqualTo("B-2");
+
+        assertThat(file.day(1)).isEqualTo(29);
+        assertThat(file.startMinute(1)).isEqualTo(16 * 60 + 45);
+        assertThat(file.endMinute(1)).isEqualTo(18 * 60);
+        assertThat(file.permission(0)).isTrue();
+        assertThat(file.permission(1)).isFalse();
+        assertThat(file.memberId(1)).isEqualTo(8);
+        assertThat(file.startMinute(2)).isZero();
+    }
+
+    @Test
+    void cutsReservationsCrossingMidnight() throws IOException {
+        ReservationColumns columns = new ReservationColumns(MONTH);
+        columns.add("911", 40, "A-1", LocalDateTime.of(2024, 2, 10, 23, 0), LocalDateTime.of(2024, 2, 11, 1, 0), 1L, true);
+
+        ReservationMonthFile file = writeAndOpen(columns);
+
+        assertThat(file.startMinute(0)).isEqualTo(23 * 60);
+        assertThat(file.endMinute(0)).isEqualTo(ReservationColumns.MINUTES_PER_DAY);
+    }
+
+    @Test
+    void keepsUnsignedCodesAndGrowsPastInitialCapacity() throws IOException {
+        // 좌석 코드가 byte(256개), signed short(32768개) 범위를 넘는 경우
+        int rows = 40000;
+        ReservationColumns columns = new ReservationColumns(MONTH);
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime start = LocalDateTime.of(2024, 2, 1 + i % 29, 9, 0);
+            columns.add("911", 40, "S" + i, start, start.plusHours(1), i, i % 2 == 0);
+        }
+
+        ReservationMonthFile file = writeAndOpen(columns);
+
+        assertThat(file.getRows()).isEqualTo(rows);
+        for (int i = 0; i < rows; i++) {
+            assertThat(file.seatName(file.seat(i))).isEqualTo("S" + i);
+            assertThat(file.memberId(i)).isEqualTo(i);
+            assertThat(file.day(i)).isEqualTo(1 + i % 29);
+        }
+    }
+
+    @Test
+    void detectsFilesOfOtherVersions() throws IOException {
+        Path path = directory.resolve("reservations-202402.labc");
+        new ReservationColumns(MONTH).writeTo(path);
+        assertThat(ReservationMonthFile.isCurrentVersion(path)).isTrue();
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[5] = 1; // version 1
+        Files.write(path, bytes);
+        assertThat(ReservationMonthFile.isCurrentVersion(path)).isFalse();
+    }
+
+    @Test
+    void rejectsReservationsOfOtherMonths() {
+        ReservationColumns columns = new ReservationColumns(MONTH);
+
+        assertThatThrownBy(() -> columns.add("911", 40, "A-1", LocalDateTime.of(2024, 3, 1, 9, 0),
+            LocalDateTime.of(2024, 3, 1, 10, 0), 1L, true))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void replacesExistingFileWithoutLeavingTemporaryFile() throws IOException {
+        Path path = directory.resolve("reservations-202402.labc");
+        ReservationColumns first = new ReservationColumns(MONTH);
+        first.add("911", 40, "A-1", LocalDateTime.of(2024, 2, 1, 9, 0), LocalDateTime.of(2024, 2, 1, 10, 0), 1L, true);
+        first.writeTo(path);
+
+        ReservationColumns second = new ReservationColumns(MONTH);
+        second.writeTo(path);
+
+        assertThat(ReservationMonthFile.open(path).getRows()).isZero();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).containsExactly(path);
+        }
+    }
+
+    private ReservationMonthFile writeAndOpen(ReservationColumns columns) throws IOException {
+        Path path = directory.resolve("reservations-202402.labc");
+        columns.writeTo(path);
+        return ReservationMonthFile.open(path);
+    }
+}
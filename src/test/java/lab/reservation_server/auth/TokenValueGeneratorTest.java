@@ -0,0 +1,74 @@
+package lab.reservation_server.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lab.reservation_server.domain.TokenSequence;
+import lab.reservation_server.repository.TokenSequenceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class TokenValueGeneratorTest {
+
+    private static final int VALUES = 1 << 24;
+
+    @Test
+    void permuteIsBijectionOverAllCounters() {
+        for (long key : new long[]{0L, 0x5DEECE66DL, -1L}) {
+            BitSet seen = new BitSet(VALUES);
+            int outOfRange = 0;
+            for (long counter = 0; counter < VALUES; counter++) {
+                int value = TokenValueGenerator.permute(counter, key);
+                if (value < 0 || value >= VALUES) {
+                    outOfRange++;
+                    continue;
+                }
+                seen.set(value);
+            }
+            // 범위 안의 값으로만 빠짐없이 채워졌다면 충돌도 없다.
+            assertThat(outOfRange).isZero();
+            assertThat(seen.cardinality()).as("key %x", key).isEqualTo(VALUES);
+        }
+    }
+
+    @Test
+    void differentKeysGiveDifferentOrders() {
+        int same = 0;
+        for (long counter = 0; counter < 1000; counter++) {
+            if (TokenValueGenerator.permute(counter, 1L) == TokenValueGenerator.permute(counter, 2L)) {
+                same++;
+            }
+        }
+        assertThat(same).isLessThan(10);
+    }
+
+    @Test
+    void nodesSharingSequenceNeverIssueSameValue() {
+        TokenSequence sequence = new TokenSequence(0x1234_5678_9ABCL);
+        TokenSequenceRepository repository = mock(TokenSequenceRepository.class);
+        when(repository.findForUpdate(any())).thenReturn(Optional.of(sequence));
+
+        TokenValueGenerator node1 = new TokenValueGenerator(repository, mock(PlatformTransactionManager.class), 64);
+        TokenValueGenerator node2 = new TokenValueGenerator(repository, mock(PlatformTransactionManager.class), 64);
+
+        Set<String> values = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            List<String> batch1 = node1.next(100);
+            List<String> batch2 = node2.next(100);
+            values.addAll(batch1);
+            values.addAll(batch2);
+            values.add(node1.next());
+            values.add(node2.next());
+        }
+
+        assertThat(values).hasSize(10 * (100 + 100 + 2));
+        assertThat(values).allMatch(value -> value.matches("[0-9a-f]{6}"));
+    }
+}
@@ -0,0 +1,102 @@
+package lab.reservation_server.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import lab.reservation_server.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MemberExistenceFilterTest {
+
+    private static final int MEMBERS = 5000;
+
+    private MemberRepository memberRepository;
+    private MemberExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        memberRepository = mock(MemberRepository.class);
+        filter = new MemberExistenceFilter(memberRepository, MEMBERS, 1000);
+    }
+
+    @Test
+    void answersTrueUntilBuilt() {
+        assertThat(filter.mightContainUserId("anything")).isTrue();
+        assertThat(filter.mightContainPhoneNum("anything")).isTrue();
+    }
+
+    @Test
+    void neverMissesLoadedOrAddedValues() {
+        when(memberRepository.findAllUserIdAndPhoneNum()).thenReturn(members(0, MEMBERS));
+        filter.build();
+        filter.put("new-user", "new-phone");
+
+        for (int i = 0; i < MEMBERS; i++) {
+            assertThat(filter.mightContainUserId(userId(i))).isTrue();
+            assertThat(filter.mightContainPhoneNum(phoneNum(i))).isTrue();
+        }
+        assertThat(filter.mightContainUserId("new-user")).isTrue();
+        assertThat(filter.mightContainPhoneNum("new-phone")).isTrue();
+    }
+
+    @Test
+    void falsePositivesStayNearConfiguredRate() {
+        when(memberRepository.findAllUserIdAndPhoneNum()).thenReturn(members(0, MEMBERS));
+        filter.build();
+
+        int falsePositives = 0;
+        for (int i = MEMBERS; i < MEMBERS * 3; i++) {
+            if (filter.mightContainUserId(userId(i))) {
+                falsePositives++;
+            }
+        }
+        // 설정한 오탐률은 1%, 여유를 두고 3% 이하인지 확인
+        assertThat(falsePositives).isLessThan(MEMBERS * 2 * 3 / 100);
+    }
+
+    @Test
+    void keepsValuesPutWhileRebuilding() {
+        when(memberRepository.findAllUserIdAndPhoneNum()).thenAnswer(invocation -> {
+            // DB를 읽는 동안 다른 요청이 가입한 경우
+            filter.put("joined-during-build", "010-0000-0000");
+            return members(0, 10);
+        });
+        filter.build();
+
+        assertThat(filter.mightContainUserId("joined-during-build")).isTrue();
+        assertThat(filter.mightContainPhoneNum("010-0000-0000")).isTrue();
+    }
+
+    @Test
+    void syncAddsValuesWrittenByOtherNodes() {
+        when(memberRepository.findAllUserIdAndPhoneNum()).thenReturn(members(0, 10));
+        filter.build();
+        when(memberRepository.findUserIdAndPhoneNumModifiedSince(any())).thenReturn(members(MEMBERS, MEMBERS + 1));
+
+        filter.sync();
+
+        assertThat(filter.mightContainUserId(userId(MEMBERS))).isTrue();
+        assertThat(filter.mightContainPhoneNum(phoneNum(MEMBERS))).isTrue();
+    }
+
+    private static List<Object[]> members(int from, int to) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            rows.add(new Object[]{userId(i), phoneNum(i)});
+        }
+        return rows;
+    }
+
+    private static String userId(int i) {
+        return String.format("2023%05d", i);
+    }
+
+    private static String phoneNum(int i) {
+        return String.format("010-%04d-%04d", i / 10000, i % 10000);
+    }
+}
@@ -0,0 +1,132 @@
+package lab.reservation_server.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lab.reservation_server.domain.Lab;
+import lab.reservation_server.domain.Member;
+import lab.reservation_server.domain.Reservation;
+import lab.reservation_server.domain.enums.Role;
+import lab.reservation_server.repository.LabRepository;
+import lab.reservation_server.repository.MemberRepository;
+import lab.reservation_server.repository.ReservationArchiveRepository;
+import lab.reservation_server.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * lab.query-budget.enforce=true 에서 예약 조회 API가 @QueryBudget 안에서 끝나는지 확인 (넘으면 요청이 실패한다)
+ * 회원, 강의실은 테스트마다 새로 만들어서 회원 캐시 상태와 상관없이 같은 수의 SQL이 실행되도록 한다.
+ */
+@SpringBootTest(properties = {
+    "lab.session.secret=test-session-secret-0123456789abcdef",
+    "lab.query-budget.enforce=true"})
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+    private static final int RESERVATIONS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LabRepository labRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationArchiveRepository reservationArchiveRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void allReservationsStayWithinBudget() throws Exception {
+        Member member = saveMember();
+        List<Reservation> reservations = saveReservations(member, saveLab(), LocalDate.now().minusDays(40));
+        // 한건은 보관 테이블로 옮겨서 union all 양쪽을 모두 읽게 한다.
+        transactionTemplate.executeWithoutResult(status ->
+            reservationArchiveRepository.move(List.of(reservations.get(0).getId()), LocalDateTime.now()));
+
+        MvcResult result = mockMvc.perform(get("/api/reservations/{userId}/all", member.getUserId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.reservations.length()").value(RESERVATIONS))
+            .andReturn();
+
+        // 회원 조회(JPA) 1 + 예약 내역 조회(JdbcTemplate) 1, 예약 수와 상관없다.
+        assertThat(queryCount(result)).isEqualTo(2);
+    }
+
+    @Test
+    void roomReservationsStayWithinBudget() throws Exception {
+        Lab lab = saveLab();
+        saveReservations(saveMember(), lab, LocalDate.now());
+
+        mockMvc.perform(post("/api/reservations/list")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"roomNum\":\"" + lab.getRoomNumber() + "\",\"startTime\":\"00:00\",\"endTime\":\"23:59\"}"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(QueryBudgetAdvice.HEADER))
+            .andExpect(jsonPath("$.reservations.length()").value(RESERVATIONS));
+    }
+
+    private int queryCount(MvcResult result) {
+        return Integer.parseInt(result.getResponse().getHeader(QueryBudgetAdvice.HEADER));
+    }
+
+    private Member saveMember() {
+        String userId = UUID.randomUUID().toString().substring(0, 8);
+        return memberRepository.save(Member.builder()
+            .userId(userId)
+            .password("password")
+            .name("테스트")
+            .email(userId + "@test.com")
+            .phoneNum(userId)
+            .role(Role.USER)
+            .build());
+    }
+
+    private Lab saveLab() {
+        return labRepository.save(Lab.builder()
+            .roomNumber(UUID.randomUUID().toString().substring(0, 8))
+            .capacity(40)
+            .build());
+    }
+
+    private List<Reservation> saveReservations(Member member, Lab lab, LocalDate date) {
+        List<Reservation> reservations = new ArrayList<>();
+        for (int i = 0; i < RESERVATIONS; i++) {
+            LocalDateTime start = date.atTime(LocalTime.of(9 + i, 0));
+            reservations.add(reservationRepository.save(Reservation.builder()
+                .member(member)
+                .lab(lab)
+                .seatNum(String.valueOf(i + 1))
+                .startTime(start)
+                .endTime(start.plusHours(1))
+                .extensionTime(start.plusMinutes(30))
+                .permission(true)
+                .build()));
+        }
+        return reservations;
+    }
+}
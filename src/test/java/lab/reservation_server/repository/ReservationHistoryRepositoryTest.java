@@ -0,0 +1,129 @@
+package lab.reservation_server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import lab.reservation_server.domain.Lab;
+import lab.reservation_server.domain.Member;
+import lab.reservation_server.domain.Reservation;
+import lab.reservation_server.domain.enums.Role;
+import lab.reservation_server.dto.response.reservation.BookInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 예약 내역 keyset 페이지를 끝까지 넘겼을 때 예약 테이블과 보관 테이블의 내역이 빠짐없이, 중복 없이 최근 순으로 나오는지 확인
+ * 시작 시간이 같은 예약을 섞어서 (start_time, id) 두 컬럼 cursor가 필요한 경우를 만든다.
+ */
+@DataJpaTest
+@Import({ReservationHistoryRepository.class, ReservationArchiveRepository.class})
+class ReservationHistoryRepositoryTest {
+
+    private static final LocalDateTime FIRST_PAGE = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 4, 9, 0);
+
+    @Autowired
+    private ReservationHistoryRepository reservationHistoryRepository;
+
+    @Autowired
+    private ReservationArchiveRepository reservationArchiveRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LabRepository labRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private Member member;
+    private List<Reservation> reservations;
+
+    @BeforeEach
+    void setUp() {
+        reservationArchiveRepository.createTableIfNotExists();
+
+        member = saveMember("20240001");
+        Member other = saveMember("20240002");
+        Lab lab = labRepository.save(Lab.builder().roomNumber("911").capacity(40).build());
+
+        reservations = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            // 시작 시간이 두건씩 같다.
+            reservations.add(save(member, lab, BASE.plusDays(i / 2)));
+        }
+        save(other, lab, BASE);
+        reservationRepository.flush();
+
+        // 오래된 예약 절반은 보관 테이블로 옮긴다.
+        List<Long> archived = reservations.subList(0, 6).stream().map(Reservation::getId).collect(Collectors.toList());
+        reservationArchiveRepository.move(archived, LocalDateTime.now());
+    }
+
+    @Test
+    void pagesCoverEveryReservationOnceInRecentOrder() {
+        List<Long> expected = reservations.stream()
+            .sorted(Comparator.comparing(Reservation::getStartTime).thenComparing(Reservation::getId).reversed())
+            .map(Reservation::getId)
+            .collect(Collectors.toList());
+
+        for (int size = 1; size <= 12; size++) {
+            assertThat(readAllPages(size)).as("page size %d", size).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void allByMemberReadsBothTablesInStartOrder() {
+        List<BookInfo> all = reservationHistoryRepository.findAllByMemberId(member.getId());
+
+        assertThat(all).extracting(BookInfo::getId)
+            .containsExactlyElementsOf(reservations.stream().map(Reservation::getId).collect(Collectors.toList()));
+    }
+
+    private List<Long> readAllPages(int size) {
+        List<Long> ids = new ArrayList<>();
+        LocalDateTime lastStartTime = FIRST_PAGE;
+        Long lastId = Long.MAX_VALUE;
+        while (true) {
+            List<BookInfo> page = reservationHistoryRepository.findPageByMemberId(member.getId(), lastStartTime, lastId, size);
+            page.forEach(info -> ids.add(info.getId()));
+            if (page.size() < size) {
+                return ids;
+            }
+            BookInfo last = page.get(page.size() - 1);
+            lastStartTime = LocalDateTime.parse(last.getStartTime());
+            lastId = last.getId();
+        }
+    }
+
+    private Member saveMember(String userId) {
+        return memberRepository.save(Member.builder()
+            .userId(userId)
+            .password("password")
+            .name("테스트")
+            .email(userId + "@test.com")
+            .phoneNum(userId)
+            .role(Role.USER)
+            .build());
+    }
+
+    private Reservation save(Member member, Lab lab, LocalDateTime start) {
+        return reservationRepository.save(Reservation.builder()
+            .member(member)
+            .lab(lab)
+            .seatNum("1")
+            .startTime(start)
+            .endTime(start.plusHours(1))
+            .extensionTime(start.plusMinutes(30))
+            .permission(true)
+            .build());
+    }
+}
@@ -0,0 +1,140 @@
+package lab.reservation_server.schedule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import lab.reservation_server.domain.Report;
+import lab.reservation_server.exception.ServiceUnavailableException;
+import lab.reservation_server.search.ReportSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class ReportWriteBehindTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ReportSearchIndex reportSearchIndex = mock(ReportSearchIndex.class);
+
+    /**
+     * batch insert마다 저장하려던 신고 제목 목록
+     */
+    private final List<List<String>> batches = new ArrayList<>();
+
+    @Test
+    void rejectsWhenQueueIsFull() {
+        ReportWriteBehind writeBehind = writeBehind(2);
+        writeBehind.enqueue(report("1"));
+        writeBehind.enqueue(report("2"));
+
+        assertThatThrownBy(() -> writeBehind.enqueue(report("3")))
+            .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    void retriesBatchAfterTransientFailure() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                record(invocation.getArgument(1));
+                throw new TransientDataAccessResourceException("connection lost");
+            })
+            .thenAnswer(invocation -> {
+                record(invocation.getArgument(1));
+                return new int[0];
+            });
+
+        ReportWriteBehind writeBehind = writeBehind(10);
+        writeBehind.enqueue(report("1"));
+        writeBehind.enqueue(report("2"));
+
+        writeBehind.flush();
+        verify(reportSearchIndex, never()).catchUp();
+
+        writeBehind.flush();
+        assertThat(batches).containsExactly(List.of("1", "2"), List.of("1", "2"));
+        verify(reportSearchIndex).catchUp();
+    }
+
+    @Test
+    void savesOneByOneAndDropsOnlyInvalidReport() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                List<String> titles = record(invocation.getArgument(1));
+                if (titles.size() > 1 || titles.contains("bad")) {
+                    throw new DataIntegrityViolationException("value too long");
+                }
+                return new int[]{1};
+            });
+
+        ReportWriteBehind writeBehind = writeBehind(10);
+        writeBehind.enqueue(report("1"));
+        writeBehind.enqueue(report("bad"));
+        writeBehind.enqueue(report("3"));
+
+        writeBehind.flush();
+        writeBehind.flush();
+
+        assertThat(batches).containsExactly(
+            List.of("1", "bad", "3"), List.of("1"), List.of("bad"), List.of("3"));
+        verify(reportSearchIndex).catchUp();
+    }
+
+    @Test
+    void flushesPendingReportsOnShutdown() {
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                record(invocation.getArgument(1));
+                return new int[0];
+            });
+
+        ReportWriteBehind writeBehind = writeBehind(10);
+        writeBehind.enqueue(report("1"));
+        writeBehind.enqueue(report("2"));
+
+        writeBehind.shutdown();
+
+        assertThat(batches).containsExactly(List.of("1", "2"));
+    }
+
+    private ReportWriteBehind writeBehind(int capacity) {
+        return new ReportWriteBehind(jdbcTemplate, mock(PlatformTransactionManager.class), reportSearchIndex,
+            new SimpleMeterRegistry(), capacity);
+    }
+
+    private List<String> record(BatchPreparedStatementSetter setter) throws SQLException {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        for (int i = 0; i < setter.getBatchSize(); i++) {
+            setter.setValues(ps, i);
+        }
+        ArgumentCaptor<String> titles = ArgumentCaptor.forClass(String.class);
+        verify(ps, times(setter.getBatchSize())).setString(eq(1), titles.capture());
+
+        batches.add(titles.getAllValues());
+        return titles.getAllValues();
+    }
+
+    private static Report report(String title) {
+        return Report.builder()
+            .title(title)
+            .content("내용")
+            .writerName("홍길동")
+            .userId("20180001")
+            .build();
+    }
+}
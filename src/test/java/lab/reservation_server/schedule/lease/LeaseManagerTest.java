@@ -0,0 +1,188 @@
+package lab.reservation_server.schedule.lease;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import lab.reservation_server.domain.SchedulerLease;
+import lab.reservation_server.repository.SchedulerLeaseRepository;
+import lab.reservation_server.schedule.TokenPurgeSchedule;
+import lab.reservation_server.service.TokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * 같은 H2 DB를 바라보는 application context 두개를 서버 두대처럼 띄워서
+ * 한 회차의 작업을 한 서버만 실행하는지 확인
+ *
+ * 각 서버에는 LeaseManager와 실제 TokenPurgeSchedule만 띄우고, 삭제 작업(TokenService)은 mock으로 두어 호출 횟수만 센다.
+ * 다른 스케줄(MemberPurgeSchedule, ReservationArchiveSchedule)도 같은 runExclusively를 거치므로 따로 띄우지 않는다.
+ * cron으로 실행되는지(@EnableScheduling)는 확인하지 않고 스케줄 메소드를 직접 호출한다.
+ */
+class LeaseManagerTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:lease;DB_CLOSE_DELAY=-1";
+
+    private ConfigurableApplicationContext node1;
+    private ConfigurableApplicationContext node2;
+
+    @BeforeEach
+    void setUp() {
+        node1 = startNode("node-1");
+        node2 = startNode("node-2");
+        node1.getBean(SchedulerLeaseRepository.class).deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        node1.close();
+        node2.close();
+    }
+
+    @Test
+    void onlyOneNodeRunsEachJob() throws Exception {
+        LeaseManager lease1 = node1.getBean(LeaseManager.class);
+        LeaseManager lease2 = node2.getBean(LeaseManager.class);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Callable<Boolean> job1 = () -> {
+                start.await();
+                return lease1.runExclusively("purge", Duration.ofMinutes(5), runs::incrementAndGet);
+            };
+            Callable<Boolean> job2 = () -> {
+                start.await();
+                return lease2.runExclusively("purge", Duration.ofMinutes(5), runs::incrementAndGet);
+            };
+            Future<Boolean> result1 = executor.submit(job1);
+            Future<Boolean> result2 = executor.submit(job2);
+            start.countDown();
+
+            assertThat(result1.get() ^ result2.get()).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(count(node1, "acquired") + count(node2, "acquired")).isEqualTo(1);
+        assertThat(count(node1, "skipped") + count(node2, "skipped")).isEqualTo(1);
+    }
+
+    @Test
+    void onlyOneNodePurgesTokensInTheSameRound() throws Exception {
+        TokenPurgeSchedule schedule1 = node1.getBean(TokenPurgeSchedule.class);
+        TokenPurgeSchedule schedule2 = node2.getBean(TokenPurgeSchedule.class);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> result1 = executor.submit(() -> {
+                start.await();
+                schedule1.purgeExpiredTokens();
+                return null;
+            });
+            Future<?> result2 = executor.submit(() -> {
+                start.await();
+                schedule2.purgeExpiredTokens();
+                return null;
+            });
+            start.countDown();
+            result1.get();
+            result2.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(purges(node1) + purges(node2)).isEqualTo(1);
+    }
+
+    @Test
+    void ownerRenewsAndOtherNodeTakesOverAfterExpiry() {
+        LeaseManager lease1 = node1.getBean(LeaseManager.class);
+        LeaseManager lease2 = node2.getBean(LeaseManager.class);
+
+        assertThat(lease1.tryAcquire("archive", Duration.ofMinutes(5))).isTrue();
+        assertThat(lease2.tryAcquire("archive", Duration.ofMinutes(5))).isFalse();
+        assertThat(lease1.renew("archive", Duration.ofMinutes(5))).isTrue();
+        assertThat(lease2.renew("archive", Duration.ofMinutes(5))).isFalse();
+
+        // node-1이 멈춰서 lease가 만료된 상황
+        expire(node1, "archive", lease1.getOwner());
+
+        assertThat(lease2.tryAcquire("archive", Duration.ofMinutes(5))).isTrue();
+        assertThat(lease1.renew("archive", Duration.ofMinutes(5))).isFalse();
+
+        assertThat(count(node1, "renewed")).isEqualTo(1);
+        assertThat(count(node1, "lost")).isEqualTo(1);
+        assertThat(count(node2, "lost")).isEqualTo(1);
+    }
+
+    private void expire(ConfigurableApplicationContext node, String name, String owner) {
+        SchedulerLeaseRepository repository = node.getBean(SchedulerLeaseRepository.class);
+        repository.save(new SchedulerLease(name, owner, LocalDateTime.now().minusSeconds(1)));
+    }
+
+    private double count(ConfigurableApplicationContext node, String result) {
+        return node.getBean(MeterRegistry.class).find("scheduler.lease")
+            .tag("result", result)
+            .counters()
+            .stream()
+            .mapToDouble(Counter::count)
+            .sum();
+    }
+
+    private int purges(ConfigurableApplicationContext node) {
+        return mockingDetails(node.getBean(TokenService.class)).getInvocations().size();
+    }
+
+    private ConfigurableApplicationContext startNode(String owner) {
+        return new SpringApplicationBuilder(LeaseNode.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + DB_URL,
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.jpa.hibernate.ddl-auto=update",
+                "spring.jpa.open-in-view=false",
+                "lab.scheduler.owner=" + owner)
+            .run();
+    }
+
+    @TestConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = SchedulerLease.class)
+    @EnableJpaRepositories(basePackageClasses = SchedulerLeaseRepository.class,
+        includeFilters = @Filter(type = FilterType.ASSIGNABLE_TYPE, classes = SchedulerLeaseRepository.class))
+    @Import({LeaseManager.class, TokenPurgeSchedule.class})
+    static class LeaseNode {
+
+        @Bean
+        TokenService tokenService() {
+            return mock(TokenService.class);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package lab.reservation_server.schedule.timer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimerTest {
+
+    private static final long START = 1_000_000L;
+
+    private final HierarchicalTimer<String> timer = new HierarchicalTimer<>(START);
+
+    @Test
+    void firesWhenExpirationIsReached() {
+        timer.add(START + 5_000, "a");
+
+        assertThat(timer.advanceClock(START + 4_999)).isEmpty();
+        assertThat(timer.advanceClock(START + 5_000)).containsExactly("a");
+        assertThat(timer.advanceClock(START + 10_000)).isEmpty();
+        assertThat(timer.size()).isZero();
+    }
+
+    @Test
+    void timersInSameTickFireTogether() {
+        timer.add(START + 2_000, "a");
+        timer.add(START + 2_500, "b");
+        timer.add(START + 3_000, "c");
+
+        assertThat(timer.advanceClock(START + 2_999)).containsExactlyInAnyOrder("a", "b");
+        assertThat(timer.advanceClock(START + 3_000)).containsExactly("c");
+    }
+
+    @Test
+    void cascadesDownFromOverflowWheels() {
+        long ninetyMinutes = START + Duration.ofMinutes(90).toMillis();
+        long twoDays = START + Duration.ofDays(2).toMillis();
+        timer.add(ninetyMinutes, "90m");
+        timer.add(twoDays, "2d");
+
+        assertThat(timer.advanceClock(ninetyMinutes - 1)).isEmpty();
+        assertThat(timer.advanceClock(ninetyMinutes)).containsExactly("90m");
+        assertThat(timer.advanceClock(twoDays - 1)).isEmpty();
+        assertThat(timer.advanceClock(twoDays)).containsExactly("2d");
+    }
+
+    @Test
+    void pastExpirationFiresOnNextAdvance() {
+        timer.add(START - 60_000, "late");
+
+        assertThat(timer.size()).isEqualTo(1);
+        assertThat(timer.advanceClock(START)).containsExactly("late");
+        assertThat(timer.size()).isZero();
+    }
+
+    @Test
+    void cancelledTimerNeverFires() {
+        TimerTaskEntry<String> entry = timer.add(START + 5_000, "a");
+        timer.add(START + 5_000, "b");
+
+        timer.cancel(entry);
+        timer.cancel(entry);
+
+        assertThat(timer.size()).isEqualTo(1);
+        assertThat(timer.advanceClock(START + 5_000)).containsExactly("b");
+        assertThat(timer.size()).isZero();
+    }
+
+    @Test
+    void cancelAfterFireDoesNotChangeSize() {
+        TimerTaskEntry<String> fired = timer.add(START + 1_000, "a");
+        timer.add(START + 60_000, "b");
+
+        assertThat(timer.advanceClock(START + 1_000)).containsExactly("a");
+        timer.cancel(fired);
+
+        assertThat(timer.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,42 @@
+package lab.reservation_server.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ReportSearchIndexTest {
+
+    @Test
+    void splitsKoreanWordsIntoBigrams() {
+        assertThat(ReportSearchIndex.tokenize("모니터가 안 켜져요"))
+            .containsExactly("모니", "니터", "터가", "안", "켜져", "져요");
+    }
+
+    @Test
+    void splitsOnSymbolsAndKeepsSingleCharacters() {
+        assertThat(ReportSearchIndex.tokenize("A-12번 좌석")).containsExactly("a", "12", "2번", "좌석");
+    }
+
+    @Test
+    void lowerCasesAndIgnoresBlankInput() {
+        assertThat(ReportSearchIndex.tokenize("HDMI")).containsExactly("hd", "dm", "mi");
+        assertThat(ReportSearchIndex.tokenize(null)).isEmpty();
+        assertThat(ReportSearchIndex.tokenize("  !! ")).isEmpty();
+    }
+
+    @Test
+    void queryBigramsMatchIndexedTextWithParticles() {
+        // 색인된 "모니터가"와 검색어 "모니터"는 조사가 달라도 검색어의 bigram이 모두 들어있다.
+        assertThat(ReportSearchIndex.tokenize("911호 모니터가 깨졌습니다"))
+            .containsAll(ReportSearchIndex.tokenize("모니터"));
+    }
+
+    @Test
+    void weightsTitleTermsOverContent() {
+        Map<String, Integer> frequencies = ReportSearchIndex.termFrequencies("마우스", "마우스 고장, 마우스 교체");
+
+        assertThat(frequencies.get("마우")).isEqualTo(3 + 2);
+        assertThat(frequencies.get("고장")).isEqualTo(1);
+    }
+}